@@ -0,0 +1,45 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.game.Direction;
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+
+import java.util.Random;
+
+/**
+ * Boards used by the benchmarks
+ */
+final class BenchmarkBoards {
+
+    private BenchmarkBoards() {
+    }
+
+    /**
+     * Create a board by moving the empty tile randomly from the finished board, never undoing the previous move
+     *
+     * @param moves number of random moves, it is an upper bound of the number of moves of an optimal solution
+     */
+    static GameLogic randomWalk(int row, int column, EmptyTilePosition position, int moves, Random random) {
+        var gameLogic = new GameLogic(row, column, position);
+        var tiles = new int[row * column];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = i;
+        }
+        gameLogic.createGameBoard(tiles);
+
+        var directions = Direction.values();
+        Direction previous = null;
+        for (int i = 0; i < moves; ) {
+            var direction = directions[random.nextInt(directions.length)];
+            if (direction.opposite() != previous && gameLogic.moveEmptyPosition(direction)) {
+                previous = direction;
+                i++;
+            }
+        }
+
+        return gameLogic;
+    }
+}
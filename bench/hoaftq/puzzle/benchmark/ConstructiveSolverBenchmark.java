@@ -0,0 +1,59 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.solver.ConstructiveSolver;
+
+/**
+ * Measure the constructive solver on random boards of growing sizes and check that its moves finish them
+ * <p>
+ * Usage: ConstructiveSolverBenchmark [boards per size] [sizes...]
+ */
+public class ConstructiveSolverBenchmark {
+
+    public static void main(String[] args) {
+        int boardCount = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        var sizes = new int[]{10, 20, 50, 100, 200};
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+
+        // Warm up so that the first size isn't timed with the interpreter
+        for (int i = 0; i < 20; i++) {
+            var gameLogic = new GameLogic(30, 30, EmptyTilePosition.BOTTOM_RIGHT);
+            gameLogic.createGameBoard();
+            new ConstructiveSolver().solve(gameLogic, direction -> {
+            });
+        }
+
+        System.out.printf("%10s %12s %16s %14s%n", "size", "time (ms)", "moves", "moves/cell");
+        for (int size : sizes) {
+            long elapsed = 0;
+            long moves = 0;
+            for (int i = 0; i < boardCount; i++) {
+                var gameLogic = new GameLogic(size, size, EmptyTilePosition.BOTTOM_RIGHT);
+                gameLogic.createGameBoard();
+
+                // Replay the moves on a copy as they are streamed, the replay is timed too
+                var replay = new GameLogic(gameLogic);
+                long startTime = System.nanoTime();
+                var solution = new ConstructiveSolver().solve(gameLogic, replay::moveEmptyPosition);
+                elapsed += System.nanoTime() - startTime;
+                moves += replay.getMoveCount();
+
+                if (!solution.isSolved() || !replay.hasFinished()) {
+                    throw new IllegalStateException("Board of " + size + "x" + size + " hasn't been solved.");
+                }
+            }
+
+            System.out.printf("%10s %12.1f %16d %14.1f%n", size + "x" + size, elapsed / 1e6 / boardCount,
+                    moves / boardCount, (double) moves / boardCount / (size * size));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.generator.Difficulty;
+import hoaftq.puzzle.generator.PuzzleGenerator;
+import hoaftq.puzzle.solver.BoardShape;
+import hoaftq.puzzle.solver.pdb.PatternDatabases;
+
+/**
+ * Measure how fast boards of a difficulty are generated with different numbers of threads
+ * <p>
+ * Usage: GeneratorBenchmark [width] [height] [difficulty] [boards] [threads...]
+ */
+public class GeneratorBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        var difficulty = args.length > 2 ? Difficulty.valueOf(args[2].toUpperCase()) : Difficulty.MEDIUM;
+        int boardCount = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        var threadCounts = new int[Math.max(args.length - 4, 1)];
+        threadCounts[0] = 1;
+        for (int i = 4; i < args.length; i++) {
+            threadCounts[i - 4] = Integer.parseInt(args[i]);
+        }
+
+        var position = EmptyTilePosition.BOTTOM_RIGHT;
+        int minMoves = difficulty.getMinMoves(width, height);
+        int maxMoves = difficulty.getMaxMoves(width, height);
+
+        // Load or generate the pattern databases first so that they aren't timed
+        var shape = BoardShape.of(width, height, position);
+        if (PatternDatabases.isSupported(shape)) {
+            PatternDatabases.await(shape);
+        }
+
+        System.out.printf("%dx%d, %s (%d-%d moves), %d boards%n", width, height, difficulty, minMoves, maxMoves, boardCount);
+        System.out.printf("%8s %12s %12s %12s%n", "threads", "time (ms)", "boards/s", "candidates");
+        for (int threads : threadCounts) {
+            try (var generator = new PuzzleGenerator(width, height, position, minMoves, maxMoves, boardCount)) {
+                long startTime = System.nanoTime();
+                generator.start(threads);
+                for (int i = 0; i < boardCount; i++) {
+                    generator.take();
+                }
+                long elapsed = System.nanoTime() - startTime;
+
+                System.out.printf("%8d %12.1f %12.2f %12d%n",
+                        threads, elapsed / 1e6, boardCount * 1e9 / elapsed, generator.getCandidateCount());
+            }
+        }
+    }
+}
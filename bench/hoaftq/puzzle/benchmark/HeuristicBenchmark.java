@@ -0,0 +1,64 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.solver.HeuristicType;
+import hoaftq.puzzle.solver.IdaStarSolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compare the heuristics on the same boards created by the game
+ * <p>
+ * Usage: HeuristicBenchmark [width] [height] [boards] [node limit per board] [heuristic...]
+ */
+public class HeuristicBenchmark {
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int boardCount = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        long nodeLimit = args.length > 3 ? Long.parseLong(args[3]) : 500_000_000L;
+        var heuristicTypes = args.length > 4
+                ? Arrays.stream(args, 4, args.length).map(HeuristicType::valueOf).toList()
+                : List.of(HeuristicType.MANHATTAN_LINEAR_CONFLICT, HeuristicType.WALKING_DISTANCE);
+
+        var boards = new ArrayList<GameLogic>();
+        for (int i = 0; i < boardCount; i++) {
+            var gameLogic = new GameLogic(width, height, EmptyTilePosition.BOTTOM_RIGHT);
+            gameLogic.createGameBoard();
+            boards.add(gameLogic);
+        }
+
+        // Build the tables before measuring
+        for (var heuristicType : heuristicTypes) {
+            new IdaStarSolver(heuristicType, 1).solve(boards.get(0));
+        }
+
+        System.out.printf("%dx%d, %d boards, node limit %d%n", width, height, boardCount, nodeLimit);
+        System.out.printf("%28s %8s %12s %14s %14s %10s%n", "heuristic", "solved", "time (ms)", "nodes", "nodes/s", "moves");
+        for (var heuristicType : heuristicTypes) {
+            int solvedCount = 0;
+            long nodes = 0;
+            long moves = 0;
+            long startTime = System.nanoTime();
+            for (var board : boards) {
+                var solution = new IdaStarSolver(heuristicType, nodeLimit).solve(board);
+                nodes += solution.nodes();
+                if (solution.isSolved()) {
+                    solvedCount++;
+                    moves += solution.moves().size();
+                }
+            }
+            long elapsed = System.nanoTime() - startTime;
+
+            System.out.printf("%28s %8d %12.1f %14d %14.0f %10d%n",
+                    heuristicType, solvedCount, elapsed / 1e6, nodes, nodes * 1e9 / elapsed, moves);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.game.Direction;
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.game.GamePanel;
+import hoaftq.puzzle.info.GameInfoView;
+import hoaftq.puzzle.option.GameOption;
+
+import javax.swing.*;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Check that the move path of the game doesn't allocate any object. Exit with status 1 if it does.
+ * <p>
+ * The game logic is checked alone (move, validate, update and check whether the game finishes), then through the
+ * mouse clicks of a game panel that is never shown, which also updates the step, restarts the hint engine and
+ * repaints the moved tiles. The panel is driven on the event dispatch thread, the allocations of the hint engine's
+ * own thread aren't counted
+ */
+public class MoveAllocationCheck {
+    private static final int MOVES = 1_000_000;
+
+    /**
+     * Every click restarts the hint engine, whose results queue up on the busy event dispatch thread,
+     * so fewer moves are played through the panel
+     */
+    private static final int PANEL_MOVES = 100_000;
+
+    private static final int BOARD_SIZE = 10;
+    private static final int CELL_SIZE = 50;
+
+    /**
+     * Height of the game information under the board
+     */
+    private static final int INFORMATION_HEIGHT = 50;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static com.sun.management.ThreadMXBean threadBean;
+
+    public static void main(String[] args) throws Exception {
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threadBean.isThreadAllocatedMemorySupported()) {
+            System.out.println("Thread allocated memory is not supported, skipped.");
+            return;
+        }
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        boolean hasAllocated = checkGameLogic();
+        var panelResult = new boolean[1];
+        SwingUtilities.invokeAndWait(() -> panelResult[0] = checkGamePanel());
+        if (hasAllocated || panelResult[0]) {
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * @return true if the moves allocated
+     */
+    private static boolean checkGameLogic() {
+        var gameLogic = new GameLogic(BOARD_SIZE, BOARD_SIZE, EmptyTilePosition.BOTTOM_RIGHT);
+        gameLogic.createGameBoard();
+
+        // Warm up so that the measured loop runs compiled code
+        playMoves(gameLogic);
+        playMoves(gameLogic);
+
+        // A new game board clears the move log but keeps its capacity, so the measured moves don't grow it
+        gameLogic.createGameBoard();
+
+        long measureOverhead = measureOverhead();
+        long allocatedBefore = allocatedBytes();
+        long checksum = playMoves(gameLogic);
+        long allocated = allocatedBytes() - allocatedBefore - measureOverhead;
+
+        System.out.printf("%d moves allocated %d bytes (%.3f bytes per move, checksum %d)%n",
+                MOVES, allocated, (double) allocated / MOVES, checksum);
+        return allocated > 0;
+    }
+
+    /**
+     * @return true if the clicks allocated
+     */
+    private static boolean checkGamePanel() {
+        GameInfoView gameInfoView;
+        try {
+            gameInfoView = new GameInfoView();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return true;
+        }
+
+        var panel = new GamePanel(gameInfoView);
+        panel.setSize(BOARD_SIZE * CELL_SIZE, BOARD_SIZE * CELL_SIZE + INFORMATION_HEIGHT);
+        var gameOption = new GameOption(false, null, BOARD_SIZE, BOARD_SIZE, EmptyTilePosition.BOTTOM_RIGHT, false);
+        var gameLogic = new GameLogic(BOARD_SIZE, BOARD_SIZE, EmptyTilePosition.BOTTOM_RIGHT);
+        gameLogic.createGameBoard();
+        panel.newGame(gameOption, gameLogic);
+
+        // The events are made beforehand, a click in the middle of each cell
+        var clicks = new MouseEvent[BOARD_SIZE * BOARD_SIZE];
+        for (int i = 0; i < clicks.length; i++) {
+            clicks[i] = new MouseEvent(panel, MouseEvent.MOUSE_CLICKED, 0, 0,
+                    i % BOARD_SIZE * CELL_SIZE + CELL_SIZE / 2, i / BOARD_SIZE * CELL_SIZE + CELL_SIZE / 2, 1, false);
+        }
+        var mouseListener = panel.getMouseListeners()[0];
+
+        clickTiles(mouseListener, clicks, gameLogic);
+        clickTiles(mouseListener, clicks, gameLogic);
+        gameLogic.createGameBoard();
+
+        long measureOverhead = measureOverhead();
+        long allocatedBefore = allocatedBytes();
+        long checksum = clickTiles(mouseListener, clicks, gameLogic);
+        long allocated = allocatedBytes() - allocatedBefore - measureOverhead;
+
+        System.out.printf("%d clicks on the game panel allocated %d bytes (%.3f bytes per click, checksum %d)%n",
+                PANEL_MOVES, allocated, (double) allocated / PANEL_MOVES, checksum);
+        return allocated > 0;
+    }
+
+    /**
+     * Reading the allocated bytes may allocate by itself, measure it to exclude it
+     */
+    private static long measureOverhead() {
+        long measureStart = allocatedBytes();
+        return allocatedBytes() - measureStart;
+    }
+
+    private static long allocatedBytes() {
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    /**
+     * Play moves the same way as the game panel does for mouse clicks and keys
+     */
+    private static long playMoves(GameLogic gameLogic) {
+        long checksum = 0;
+        int seed = 12345;
+        for (int i = 0; i < MOVES; i++) {
+            seed = seed * 1103515245 + 12345;
+            boolean moved;
+            if ((i & 1) == 0) {
+                moved = gameLogic.moveEmptyPosition(DIRECTIONS[(seed >>> 16) & 3]);
+            } else {
+                int emptyIndex = gameLogic.getEmptyIndex();
+                int x = emptyIndex % gameLogic.getRow() + ((seed >>> 16) & 1) * 2 - 1;
+                int y = emptyIndex / gameLogic.getRow();
+                moved = gameLogic.moveEmptyPositionTo(x, y);
+            }
+
+            if (moved && !gameLogic.hasFinished()) {
+                checksum += gameLogic.getMisplacedTileCount() + gameLogic.getTileAt(gameLogic.getEmptyIndex());
+            }
+        }
+
+        return checksum;
+    }
+
+    /**
+     * Click a random neighbor of the empty tile, the clicks outside the board are ignored by the panel
+     */
+    private static long clickTiles(MouseListener mouseListener, MouseEvent[] clicks, GameLogic gameLogic) {
+        long checksum = 0;
+        int seed = 12345;
+        for (int i = 0; i < PANEL_MOVES; i++) {
+            seed = seed * 1103515245 + 12345;
+            var direction = DIRECTIONS[(seed >>> 16) & 3];
+            int x = gameLogic.getEmptyIndex() % BOARD_SIZE + direction.stepX();
+            int y = gameLogic.getEmptyIndex() / BOARD_SIZE + direction.stepY();
+            if (x >= 0 && x < BOARD_SIZE && y >= 0 && y < BOARD_SIZE) {
+                mouseListener.mouseClicked(clicks[x + y * BOARD_SIZE]);
+                checksum += gameLogic.getEmptyIndex();
+            }
+        }
+
+        return checksum;
+    }
+}
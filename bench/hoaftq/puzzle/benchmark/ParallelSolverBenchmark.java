@@ -0,0 +1,81 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.solver.BoardShape;
+import hoaftq.puzzle.solver.HeuristicType;
+import hoaftq.puzzle.solver.IdaStarSolver;
+import hoaftq.puzzle.solver.ParallelIdaStarSolver;
+import hoaftq.puzzle.solver.Solver;
+import hoaftq.puzzle.solver.pdb.PatternDatabases;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Measure the speedup of the parallel solver over the single threaded one on the same boards
+ * <p>
+ * Usage: ParallelSolverBenchmark [width] [height] [random moves] [boards] [max threads]
+ */
+public class ParallelSolverBenchmark {
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int moves = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int boardCount = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int maxThreads = args.length > 4 ? Integer.parseInt(args[4]) : 16;
+
+        var heuristicType = HeuristicType.MANHATTAN_LINEAR_CONFLICT;
+        var shape = BoardShape.of(width, height, EmptyTilePosition.BOTTOM_RIGHT);
+        if (PatternDatabases.isSupported(shape)) {
+            PatternDatabases.await(shape);
+            heuristicType = HeuristicType.PATTERN_DATABASE;
+        }
+
+        var random = new Random(42);
+        var boards = new ArrayList<GameLogic>();
+        for (int i = 0; i < boardCount; i++) {
+            boards.add(BenchmarkBoards.randomWalk(width, height, EmptyTilePosition.BOTTOM_RIGHT, moves, random));
+        }
+
+        System.out.printf("%dx%d, %d boards of %d random moves, %s, %d processors%n",
+                width, height, boardCount, moves, heuristicType, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %12s %10s %14s %14s%n", "threads", "time (ms)", "speedup", "nodes", "nodes/s");
+
+        var finalHeuristicType = heuristicType;
+        long baseline = run(boards, () -> new IdaStarSolver(finalHeuristicType, Long.MAX_VALUE), "serial", 0);
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            int parallelism = threads;
+            run(boards, () -> new ParallelIdaStarSolver(finalHeuristicType, Long.MAX_VALUE, parallelism),
+                    String.valueOf(threads), baseline);
+        }
+    }
+
+    private static long run(List<GameLogic> boards, Supplier<Solver> solverFactory,
+                            String name, long baseline) {
+        long nodes = 0;
+        long startTime = System.nanoTime();
+        for (var board : boards) {
+            var solution = solverFactory.get().solve(board);
+            if (!solution.isSolved()) {
+                throw new IllegalStateException("Board has not been solved: " + solution);
+            }
+            nodes += solution.nodes();
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        System.out.printf("%8s %12.1f %10s %14d %14.0f%n",
+                name,
+                elapsed / 1e6,
+                baseline == 0 ? "1.00" : String.format("%.2f", (double) baseline / elapsed),
+                nodes,
+                nodes * 1e9 / elapsed);
+        return elapsed;
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.game.ShuffleMode;
+
+/**
+ * Measure how long creating a game board takes with each shuffle mode of a new game
+ * <p>
+ * Usage: ShuffleBenchmark [board size...]
+ */
+public class ShuffleBenchmark {
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    public static void main(String[] args) {
+        var sizes = args.length > 0 ? args : new String[]{"3", "4", "6", "8", "10"};
+
+        System.out.printf("%6s %20s %16s%n", "size", "mode", "time (us)");
+        for (var size : sizes) {
+            int n = Integer.parseInt(size);
+            for (var mode : new ShuffleMode[]{ShuffleMode.RANDOM_PERMUTATION, ShuffleMode.RANDOM_WALK}) {
+
+                // Warm up then measure
+                measure(n, mode);
+                System.out.printf("%6s %20s %16.2f%n", n + "x" + n, mode, measure(n, mode) / 1e3);
+            }
+        }
+    }
+
+    /**
+     * Average time of creating a game board in nanoseconds
+     */
+    private static double measure(int size, ShuffleMode mode) {
+        var gameLogic = new GameLogic(size, size, EmptyTilePosition.BOTTOM_RIGHT);
+        long count = 0;
+        long startTime = System.nanoTime();
+        long elapsed;
+        do {
+            gameLogic.createGameBoard(mode);
+            count++;
+            elapsed = System.nanoTime() - startTime;
+        } while (elapsed < MEASURE_NANOS);
+
+        return (double) elapsed / count;
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.solver.BoardShape;
+import hoaftq.puzzle.solver.ConstructiveSolver;
+import hoaftq.puzzle.solver.HeuristicType;
+import hoaftq.puzzle.solver.IdaStarSolver;
+import hoaftq.puzzle.solver.ParallelIdaStarSolver;
+import hoaftq.puzzle.solver.Solver;
+import hoaftq.puzzle.solver.TranspositionTable;
+import hoaftq.puzzle.solver.pdb.PatternDatabases;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Run every solver configuration on sets of instances and write a CSV report with one line per instance and
+ * configuration, to compare versions of the solvers and to choose the settings for a machine.
+ * <p>
+ * Instance files have one board per line, optionally preceded by its number, in the usual format of the Korf 100
+ * instances: the tiles of the cells from the top left, 0 for the empty tile, which belongs to the top left corner.
+ * Lines of 16 numbers are 4x4 boards, lines of 25 numbers are 5x5 boards, lines starting with # are ignored.
+ * Without instance files, the Korf 100 instances and a fixed set of random 5x5 boards, kept with the benchmarks,
+ * are used.
+ * <p>
+ * Usage: SolverBenchmarkSuite [report file] [node limit per instance] [instance file...]
+ */
+public class SolverBenchmarkSuite {
+    private static final int TABLE_SIZE_MB = 64;
+    private static final List<String> DEFAULT_INSTANCES = List.of("instances/korf100.txt", "instances/random-5x5.txt");
+
+    private record Instance(String name, GameLogic board) {
+    }
+
+    private record Configuration(String name, Supplier<Solver> solverFactory) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        var reportFile = Path.of(args.length > 0 ? args[0] : "build/solver-benchmark.csv");
+        long nodeLimit = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L;
+        var instances = new ArrayList<Instance>();
+        for (int i = 2; i < args.length; i++) {
+            instances.addAll(readInstances(Path.of(args[i])));
+        }
+        if (instances.isEmpty()) {
+            for (var resource : DEFAULT_INSTANCES) {
+                instances.addAll(readInstances(resource));
+            }
+        }
+
+        var configurations = createConfigurations(nodeLimit);
+        prepareTables(instances);
+
+        var heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        try (var report = new PrintWriter(Files.newBufferedWriter(reportFile))) {
+            report.println("instance,size,solver,status,moves,nodes,nodes_per_second,wall_ms,peak_heap_mb");
+            for (var configuration : configurations) {
+                for (var instance : instances) {
+                    var solver = configuration.solverFactory().get();
+                    var board = instance.board();
+
+                    System.gc();
+                    heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+                    long startTime = System.nanoTime();
+                    var solution = solver.solve(board);
+                    long elapsed = System.nanoTime() - startTime;
+                    long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+                    var line = String.format("%s,%dx%d,%s,%s,%d,%d,%.0f,%.1f,%.1f",
+                            instance.name(), board.getRow(), board.getColumn(), configuration.name(),
+                            solution.status(), solution.moves().size(), solution.nodes(),
+                            solution.nodes() * 1e9 / Math.max(elapsed, 1), elapsed / 1e6, peakHeap / (1024.0 * 1024.0));
+                    report.println(line);
+                    report.flush();
+                    System.out.println(line);
+                }
+            }
+        }
+
+        System.out.println("Report written to " + reportFile.toAbsolutePath());
+    }
+
+    /**
+     * Every heuristic on one thread, with and without a transposition table, on several threads,
+     * and the constructive solver, whose solutions are not optimal
+     */
+    private static List<Configuration> createConfigurations(long nodeLimit) {
+        var configurations = new ArrayList<Configuration>();
+        for (var heuristicType : HeuristicType.values()) {
+            configurations.add(new Configuration("ida-" + heuristicType.name().toLowerCase(),
+                    () -> new IdaStarSolver(heuristicType, nodeLimit)));
+        }
+
+        var table = new TranspositionTable(TABLE_SIZE_MB, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+        configurations.add(new Configuration("ida-pattern_database-table", () -> {
+
+            // Every instance starts with an empty table, so that the results don't depend on the order
+            table.clear();
+            return new IdaStarSolver(HeuristicType.PATTERN_DATABASE, nodeLimit, table);
+        }));
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 2; threads <= processors; threads *= 2) {
+            int parallelism = threads;
+            configurations.add(new Configuration("parallel-pattern_database-" + threads,
+                    () -> new ParallelIdaStarSolver(HeuristicType.PATTERN_DATABASE, nodeLimit, parallelism)));
+        }
+
+        configurations.add(new Configuration("constructive", ConstructiveSolver::new));
+        return configurations;
+    }
+
+    /**
+     * Load or generate the tables of the heuristics before measuring
+     */
+    private static void prepareTables(List<Instance> instances) {
+        for (var shape : instances.stream().map(instance -> BoardShape.of(instance.board())).distinct().toList()) {
+            if (PatternDatabases.isSupported(shape)) {
+                PatternDatabases.await(shape);
+            }
+        }
+
+        var board = instances.get(0).board();
+        for (var heuristicType : HeuristicType.values()) {
+            new IdaStarSolver(heuristicType, 1).solve(board);
+        }
+    }
+
+    /**
+     * Read boards in the format of the Korf 100 instances
+     */
+    private static List<Instance> readInstances(Path file) throws IOException {
+        return parseInstances(file.getFileName().toString(), Files.readAllLines(file));
+    }
+
+    /**
+     * Read the boards of an instance file kept with the benchmarks
+     */
+    private static List<Instance> readInstances(String resource) throws IOException {
+        try (var stream = SolverBenchmarkSuite.class.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IOException("Instance file " + resource + " not found.");
+            }
+
+            var lines = new String(stream.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            return parseInstances(resource.substring(resource.lastIndexOf('/') + 1), lines);
+        }
+    }
+
+    private static List<Instance> parseInstances(String fileName, List<String> lines) throws IOException {
+        var instances = new ArrayList<Instance>();
+        int lineNumber = 0;
+        for (var line : lines) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            var values = line.split("\\s+");
+            int size = (int) Math.round(Math.sqrt(values.length));
+            int first = 0;
+            if (size * size != values.length) {
+                size = (int) Math.round(Math.sqrt(values.length - 1));
+                first = 1;
+            }
+            if (size * size != values.length - first) {
+                throw new IOException("Line " + lineNumber + " of " + fileName + " is not a square board.");
+            }
+
+            var tiles = new int[size * size];
+            for (int i = 0; i < tiles.length; i++) {
+                tiles[i] = Integer.parseInt(values[first + i]);
+            }
+
+            var board = new GameLogic(size, size, EmptyTilePosition.TOP_LEFT);
+            board.createGameBoard(tiles);
+            var name = first == 1 ? fileName + "#" + values[0] : fileName + ":" + lineNumber;
+            instances.add(new Instance(name, board));
+        }
+
+        return instances;
+    }
+}
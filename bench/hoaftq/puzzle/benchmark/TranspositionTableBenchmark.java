@@ -0,0 +1,65 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.solver.HeuristicType;
+import hoaftq.puzzle.solver.IdaStarSolver;
+import hoaftq.puzzle.solver.TranspositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compare the nodes expanded by the solver without a transposition table and with each replacement policy
+ * <p>
+ * Usage: TranspositionTableBenchmark [width] [height] [random moves] [boards] [table size in MB]
+ */
+public class TranspositionTableBenchmark {
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int moves = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int boardCount = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int sizeMb = args.length > 4 ? Integer.parseInt(args[4]) : 64;
+
+        var random = new Random(42);
+        var boards = new ArrayList<GameLogic>();
+        for (int i = 0; i < boardCount; i++) {
+            boards.add(BenchmarkBoards.randomWalk(width, height, EmptyTilePosition.BOTTOM_RIGHT, moves, random));
+        }
+
+        System.out.printf("%dx%d, %d boards of %d random moves, %d MB table%n", width, height, boardCount, moves, sizeMb);
+        System.out.printf("%16s %12s %14s %14s%n", "table", "time (ms)", "nodes", "moves");
+
+        var heuristicType = HeuristicType.MANHATTAN_LINEAR_CONFLICT;
+        run(boards, "none", null, heuristicType);
+        for (var policy : TranspositionTable.ReplacementPolicy.values()) {
+            run(boards, policy.toString(), new TranspositionTable(sizeMb, policy), heuristicType);
+        }
+    }
+
+    private static void run(List<GameLogic> boards, String name, TranspositionTable table, HeuristicType heuristicType) {
+        long nodes = 0;
+        long solutionMoves = 0;
+        long startTime = System.nanoTime();
+        for (var board : boards) {
+
+            // Start each board with an empty table, so that it doesn't benefit from the entries of the previous ones
+            if (table != null) {
+                table.clear();
+            }
+
+            var solution = new IdaStarSolver(heuristicType, Long.MAX_VALUE, table).solve(board);
+            nodes += solution.nodes();
+            solutionMoves += solution.moves().size();
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        System.out.printf("%16s %12.1f %14d %14d%n", name, elapsed / 1e6, nodes, solutionMoves);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.game.Direction;
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.game.ShuffleMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board creation, moves and the finished check of the game logic on boards of several sizes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameLogicBenchmark {
+
+    @Param({"3", "4", "10", "50", "100"})
+    public int size;
+
+    private GameLogic gameLogic;
+
+    /**
+     * A direction the empty tile can move to on the created board
+     */
+    private Direction direction;
+
+    @Setup
+    public void setUp() {
+        gameLogic = new GameLogic(size, size, EmptyTilePosition.BOTTOM_RIGHT);
+        gameLogic.createGameBoard();
+        for (var candidate : Direction.values()) {
+            if (gameLogic.moveEmptyPosition(candidate)) {
+                gameLogic.undo();
+                direction = candidate;
+                break;
+            }
+        }
+    }
+
+    @Benchmark
+    public int createGameBoard() {
+        gameLogic.createGameBoard(ShuffleMode.RANDOM_PERMUTATION);
+        return gameLogic.getEmptyIndex();
+    }
+
+    /**
+     * A move and its undo, so that the board and the move log stay the same between invocations
+     */
+    @Benchmark
+    public boolean moveEmptyPosition() {
+        gameLogic.moveEmptyPosition(direction);
+        return gameLogic.undo();
+    }
+
+    @Benchmark
+    public boolean moveEmptyPositionTo() {
+        int emptyIndex = gameLogic.getEmptyIndex();
+        gameLogic.moveEmptyPositionTo(emptyIndex % size + direction.stepX(), emptyIndex / size + direction.stepY());
+        return gameLogic.undo();
+    }
+
+    @Benchmark
+    public boolean hasFinished() {
+        return gameLogic.hasFinished();
+    }
+}
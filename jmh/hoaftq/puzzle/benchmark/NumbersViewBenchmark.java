@@ -0,0 +1,53 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.info.NumbersView;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing the numbers of the game information into an offscreen image
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class NumbersViewBenchmark {
+
+    @Param({"1", "4", "8"})
+    public int digits;
+
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private NumbersView numbersView;
+    private int number;
+    private int numberLimit;
+
+    @Setup
+    public void setUp() throws IOException {
+        image = new BufferedImage(400, 50, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+        numbersView = new NumbersView("numbers.gif");
+        numberLimit = (int) Math.pow(10, digits);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage drawNumber() {
+        number = (number + 1) % numberLimit;
+        numbersView.drawNumber(graphics, 0, 0, 50, number, digits);
+        return image;
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.benchmark;
+
+import hoaftq.puzzle.common.PuzzleImage;
+import hoaftq.puzzle.tile.ImageTilesView;
+import hoaftq.puzzle.tile.NumberTilesView;
+import hoaftq.puzzle.tile.TilesView;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing one tile of each kind of tiles view into an offscreen image, going through all the cells of the board
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class TilesViewBenchmark {
+    private static final int BOARD_SIZE = 600;
+
+    @Param({"3", "10", "50"})
+    public int size;
+
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private TilesView numberTilesView;
+    private TilesView imageTilesView;
+    private int cell;
+
+    @Setup
+    public void setUp() throws IOException {
+        image = new BufferedImage(BOARD_SIZE, BOARD_SIZE, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+        numberTilesView = new NumberTilesView(size, size, BOARD_SIZE, BOARD_SIZE);
+        imageTilesView = new ImageTilesView(size, size, BOARD_SIZE, BOARD_SIZE, new PuzzleImage("default.jpg", true));
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage numberTilesViewDrawOne() {
+        return drawNextCell(numberTilesView);
+    }
+
+    @Benchmark
+    public BufferedImage imageTilesViewDrawOne() {
+        return drawNextCell(imageTilesView);
+    }
+
+    /**
+     * Draw the tile of the next cell, with the tile of the mirrored cell so that the tile is not in its own place
+     */
+    private BufferedImage drawNextCell(TilesView tilesView) {
+        cell = (cell + 1) % (size * size);
+        int x = cell % size;
+        int y = cell / size;
+        tilesView.drawOne(graphics, 0, 0, x, y, size - 1 - x, size - 1 - y);
+        return image;
+    }
+}
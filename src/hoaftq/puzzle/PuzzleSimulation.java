@@ -0,0 +1,187 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle;
+
+import hoaftq.puzzle.game.Direction;
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.game.ShuffleMode;
+import hoaftq.puzzle.solver.BoardShape;
+import hoaftq.puzzle.solver.ConstructiveSolver;
+import hoaftq.puzzle.solver.HeuristicType;
+import hoaftq.puzzle.solver.IdaStarSolver;
+import hoaftq.puzzle.solver.Solver;
+import hoaftq.puzzle.solver.exact.ExactDistanceTables;
+import hoaftq.puzzle.solver.exact.ExactSolver;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Play games without any window to measure the throughput of the game engine.
+ * Only the game logic and the solver are used, so no AWT class is loaded
+ * <p>
+ * Usage: PuzzleSimulation [games] [row] [column] [empty position] [random|solver] [threads] [max random moves]
+ */
+public class PuzzleSimulation {
+
+    /**
+     * How the moves of a game are chosen
+     */
+    enum Policy {
+
+        /**
+         * Move the empty tile randomly until the game finishes or the maximum number of moves is reached
+         */
+        RANDOM,
+
+        /**
+         * Play the moves of an optimal solution, looked up in the exact distance table for small boards
+         * and found by the solver for the others. Boards larger than 4x4 are solved by the constructive solver,
+         * whose solutions are not optimal
+         */
+        SOLVER
+    }
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Largest board solved optimally by the solver policy, a random 5x5 board can take hours
+     */
+    private static final int MAX_OPTIMAL_CELLS = 16;
+
+    /**
+     * Result of the games played by a worker
+     *
+     * @param latencies   time of each game in nanoseconds, board creation included
+     * @param moves       number of moves made
+     * @param finishCount number of games that have finished
+     */
+    private record WorkerResult(long[] latencies, long moves, int finishCount) {
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int row = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int column = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        var position = args.length > 3 ? EmptyTilePosition.valueOf(args[3]) : EmptyTilePosition.BOTTOM_RIGHT;
+        var policy = args.length > 4 ? Policy.valueOf(args[4].toUpperCase()) : Policy.SOLVER;
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+        int maxRandomMoves = args.length > 6 ? Integer.parseInt(args[6]) : 100_000;
+
+        System.out.printf("%d games of %dx%d, empty tile at %s, %s policy, %d threads%n",
+                gameCount, row, column, position, policy, threads);
+
+        var heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        var results = new ArrayList<WorkerResult>();
+        long startTime = System.nanoTime();
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            var futures = new ArrayList<Future<WorkerResult>>();
+            for (int i = 0; i < threads; i++) {
+
+                // Spread the games evenly, the first workers play one more game if they can't be divided equally
+                int workerGameCount = gameCount / threads + (i < gameCount % threads ? 1 : 0);
+                long seed = i;
+                futures.add(executor.submit(() -> play(workerGameCount, row, column, position, policy,
+                        maxRandomMoves, new SplittableRandom(seed))));
+            }
+
+            for (var future : futures) {
+                results.add(future.get());
+            }
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        var latencies = results.stream().map(WorkerResult::latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        long moves = results.stream().mapToLong(WorkerResult::moves).sum();
+        int finishCount = results.stream().mapToInt(WorkerResult::finishCount).sum();
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        System.out.printf("finished games: %d of %d%n", finishCount, gameCount);
+        System.out.printf("elapsed: %.1f ms%n", elapsed / 1e6);
+        System.out.printf("games/s: %.1f%n", gameCount * 1e9 / elapsed);
+        System.out.printf("moves/s: %.0f (%d moves)%n", moves * 1e9 / elapsed, moves);
+        System.out.printf("latency (us): p50 %.1f, p90 %.1f, p99 %.1f, max %.1f%n",
+                percentile(latencies, 50) / 1e3,
+                percentile(latencies, 90) / 1e3,
+                percentile(latencies, 99) / 1e3,
+                percentile(latencies, 100) / 1e3);
+        System.out.printf("peak heap: %.1f MB%n", peakHeap / (1024.0 * 1024.0));
+    }
+
+    /**
+     * Play games on a single engine
+     */
+    private static WorkerResult play(int gameCount, int row, int column, EmptyTilePosition position,
+                                     Policy policy, int maxRandomMoves, SplittableRandom random) {
+        var gameLogic = new GameLogic(row, column, position);
+        Solver solver = null;
+        if (policy == Policy.SOLVER) {
+            var shape = BoardShape.of(gameLogic);
+            if (ExactDistanceTables.isSupported(shape)) {
+                solver = new ExactSolver();
+            } else if (shape.cellCount() <= MAX_OPTIMAL_CELLS) {
+                solver = new IdaStarSolver(HeuristicType.MANHATTAN_LINEAR_CONFLICT, Long.MAX_VALUE);
+            } else {
+                solver = new ConstructiveSolver();
+            }
+        }
+
+        var latencies = new long[gameCount];
+        long moves = 0;
+        int finishCount = 0;
+        for (int i = 0; i < gameCount; i++) {
+            long startTime = System.nanoTime();
+            gameLogic.createGameBoard(ShuffleMode.RANDOM_PERMUTATION, random.nextLong());
+
+            if (solver instanceof ConstructiveSolver constructiveSolver) {
+
+                // The moves are played as they are found, the solver works on its own copy of the board
+                constructiveSolver.solve(gameLogic, gameLogic::moveEmptyPosition);
+                moves += gameLogic.getMoveCount();
+            } else if (solver != null) {
+                for (var direction : solver.solve(gameLogic).moves()) {
+                    gameLogic.moveEmptyPosition(direction);
+                    moves++;
+                }
+            } else {
+                for (int j = 0; j < maxRandomMoves && !gameLogic.hasFinished(); j++) {
+                    if (gameLogic.moveEmptyPosition(DIRECTIONS[random.nextInt(DIRECTIONS.length)])) {
+                        moves++;
+                    }
+                }
+            }
+
+            if (gameLogic.hasFinished()) {
+                finishCount++;
+            }
+            latencies[i] = System.nanoTime() - startTime;
+        }
+
+        return new WorkerResult(latencies, moves, finishCount);
+    }
+
+    /**
+     * Get a percentile of sorted values with the nearest rank method
+     */
+    private static long percentile(long[] sortedValues, int percent) {
+        if (sortedValues.length == 0) {
+            return 0;
+        }
+
+        int rank = (int) Math.ceil(percent / 100.0 * sortedValues.length);
+        return sortedValues[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.game;
+
+/**
+ * Direction the empty tile moves to
+ */
+public enum Direction {
+    LEFT(-1, 0),
+    RIGHT(1, 0),
+    UP(0, -1),
+    DOWN(0, 1);
+
+    private final int stepX;
+    private final int stepY;
+
+    Direction(int stepX, int stepY) {
+        this.stepX = stepX;
+        this.stepY = stepY;
+    }
+
+    public int stepX() {
+        return stepX;
+    }
+
+    public int stepY() {
+        return stepY;
+    }
+
+    /**
+     * Get the direction that reverts a move to this direction
+     */
+    public Direction opposite() {
+        return switch (this) {
+            case LEFT -> RIGHT;
+            case RIGHT -> LEFT;
+            case UP -> DOWN;
+            case DOWN -> UP;
+        };
+    }
+}
@@ -10,5 +10,20 @@ public enum EmptyTilePosition {
     TOP_LEFT,
     TOP_RIGHT,
     BOTTOM_RIGHT,
-    BOTTOM_LEFT
-}
\ No newline at end of file
+    BOTTOM_LEFT;
+
+    /**
+     * Get the cell index of this position on a game board
+     *
+     * @param row    number of horizontal cells
+     * @param column number of vertical cells
+     */
+    public int cellIndex(int row, int column) {
+        return switch (this) {
+            case TOP_LEFT -> 0;
+            case TOP_RIGHT -> row - 1;
+            case BOTTOM_RIGHT -> (row - 1) + (column - 1) * row;
+            case BOTTOM_LEFT -> (column - 1) * row;
+        };
+    }
+}
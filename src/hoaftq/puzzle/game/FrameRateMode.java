@@ -0,0 +1,25 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.game;
+
+/**
+ * How the frames of active rendering are paced
+ */
+public enum FrameRateMode {
+
+    /**
+     * One frame per refresh of the display, with page flipping when the display supports it
+     */
+    VSYNC,
+
+    /**
+     * At most a given number of frames per second
+     */
+    CAPPED,
+
+    /**
+     * As many frames as can be rendered, while something is moving
+     */
+    UNCAPPED
+}
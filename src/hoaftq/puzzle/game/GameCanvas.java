@@ -0,0 +1,326 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.game;
+
+import hoaftq.puzzle.tile.TilesView;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Canvas drawing the game by active rendering: a thread of its own draws whole frames into a buffer strategy and
+ * animates the slides of the tiles.
+ * <p>
+ * The game panel posts a scene after every change, a copy of what has to be drawn, so the render thread never reads
+ * the game logic. Slides are advanced in fixed time steps and each frame is drawn between the last two steps, so
+ * the motion doesn't depend on the frame rate. When a frame is late the frames missed are skipped instead of being
+ * drawn in a burst. The thread waits without a timeout while nothing slides and no scene has been posted
+ */
+class GameCanvas extends Canvas {
+    private static final long SLIDE_NANOS = 100_000_000L;
+    private static final long STEP_NANOS = 1_000_000_000L / 240;
+
+    /**
+     * Most time steps run before a frame, a slide jumps forward when the frames are later than that
+     */
+    private static final int MAX_STEPS_PER_FRAME = 8;
+
+    private static final int DEFAULT_REFRESH_RATE = 60;
+    private static final int FRAME_TIME_SAMPLES = 1024;
+
+    /**
+     * Print frame times every second while frames are drawn when the puzzle.frameStats system property is true
+     */
+    private final static boolean PRINT_FRAME_STATISTICS = Boolean.getBoolean("puzzle.frameStats");
+
+    /**
+     * What the render thread draws, taken from the game panel on the event dispatch thread
+     *
+     * @param tilesView   tiles view only used by the render thread
+     * @param boardWidth  width of the game board
+     * @param boardHeight height of the game board
+     * @param tiles       original cell index of the tile placed at each cell
+     * @param hintIndex   cell of the hinted tile, -1 if no hint is shown
+     * @param slideFrom   cell of the empty tile before the last move, -1 if the last change is not animated
+     * @param slideId     changes with every move, so that a slide is started once however many scenes share it
+     * @param elapsedTime elapsed time shown under the board
+     * @param step        played step shown under the board
+     */
+    record Scene(TilesView tilesView, int boardWidth, int boardHeight, int[] tiles, int emptyIndex, int hintIndex,
+                 boolean isPlaying, int slideFrom, int slideId, int elapsedTime, int step) {
+    }
+
+    /**
+     * Draws a whole frame of a scene
+     */
+    @FunctionalInterface
+    interface Painter {
+
+        /**
+         * @param slideProgress how far the sliding tiles have gone, from 0 to 1
+         */
+        void paint(Graphics g, Scene scene, double slideProgress);
+    }
+
+    private final Painter painter;
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private Scene scene;
+    private boolean hasNewScene;
+    private FrameRateMode frameRateMode = FrameRateMode.VSYNC;
+    private int maxFramesPerSecond = DEFAULT_REFRESH_RATE;
+
+    private volatile boolean isRunning;
+    private Thread renderThread;
+    private BufferStrategy bufferStrategy;
+
+    // Only used by the render thread
+    private int slideId = -1;
+    private double slideProgress = 1;
+    private double previousSlideProgress = 1;
+    private final long[] frameTimes = new long[FRAME_TIME_SAMPLES];
+    private int frameCount;
+    private long skippedFrameCount;
+    private long lastReportTime;
+
+    GameCanvas(Painter painter) {
+        this.painter = painter;
+        setIgnoreRepaint(true);
+    }
+
+    /**
+     * Set how the frames are paced
+     *
+     * @param maxFramesPerSecond frames per second of {@link FrameRateMode#CAPPED}
+     */
+    void setFrameRate(FrameRateMode frameRateMode, int maxFramesPerSecond) {
+        if (maxFramesPerSecond <= 0) {
+            throw new IllegalArgumentException("Frames per second must be positive.");
+        }
+
+        synchronized (lock) {
+            this.frameRateMode = frameRateMode;
+            this.maxFramesPerSecond = maxFramesPerSecond;
+        }
+    }
+
+    /**
+     * Replace the scene to draw, a frame is drawn even if nothing is sliding
+     */
+    void post(Scene scene) {
+        synchronized (lock) {
+            this.scene = scene;
+            hasNewScene = true;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+
+        // Page flipping is only available on some displays, mostly in full screen
+        try {
+            createBufferStrategy(2, new BufferCapabilities(new ImageCapabilities(true), new ImageCapabilities(true),
+                    BufferCapabilities.FlipContents.UNDEFINED));
+        } catch (AWTException e) {
+            createBufferStrategy(2);
+        }
+        bufferStrategy = getBufferStrategy();
+
+        isRunning = true;
+        renderThread = Thread.ofPlatform().daemon().name("game-canvas").start(this::renderLoop);
+    }
+
+    @Override
+    public void removeNotify() {
+        isRunning = false;
+        renderThread.interrupt();
+        try {
+            renderThread.join(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        super.removeNotify();
+    }
+
+    /**
+     * The canvas is only drawn by the render thread, a request of the system becomes a frame
+     */
+    @Override
+    public void paint(Graphics g) {
+        synchronized (lock) {
+            hasNewScene = scene != null;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void update(Graphics g) {
+        paint(g);
+    }
+
+    private void renderLoop() {
+        boolean wasIdle = true;
+        long previousTime = 0;
+        long accumulator = 0;
+        long nextFrameTime = 0;
+        long lastFrameTime = 0;
+        int refreshRate = DEFAULT_REFRESH_RATE;
+        try {
+            while (isRunning) {
+                Scene current;
+                FrameRateMode mode;
+                int framesPerSecond;
+                synchronized (lock) {
+                    while (isRunning && (scene == null || !hasNewScene && previousSlideProgress >= 1)) {
+                        lock.wait();
+                        wasIdle = true;
+                    }
+                    current = scene;
+                    hasNewScene = false;
+                    mode = frameRateMode;
+                    framesPerSecond = maxFramesPerSecond;
+                }
+                if (!isRunning) {
+                    break;
+                }
+
+                long now = System.nanoTime();
+                if (wasIdle) {
+                    wasIdle = false;
+                    previousTime = now;
+                    accumulator = 0;
+                    nextFrameTime = now;
+                    lastFrameTime = 0;
+                    refreshRate = getRefreshRate();
+                }
+
+                if (current.slideId() != slideId) {
+                    slideId = current.slideId();
+                    slideProgress = current.slideFrom() >= 0 ? 0 : 1;
+                    previousSlideProgress = slideProgress;
+                }
+
+                // Advance the slide in fixed steps, the time left over is used to draw between the last two steps
+                accumulator += now - previousTime;
+                previousTime = now;
+                for (int i = 0; i < MAX_STEPS_PER_FRAME && accumulator >= STEP_NANOS; i++) {
+                    previousSlideProgress = slideProgress;
+                    slideProgress = Math.min(slideProgress + (double) STEP_NANOS / SLIDE_NANOS, 1);
+                    accumulator -= STEP_NANOS;
+                }
+                accumulator = Math.min(accumulator, STEP_NANOS);
+                double alpha = (double) accumulator / STEP_NANOS;
+
+                render(current, previousSlideProgress + (slideProgress - previousSlideProgress) * alpha, mode);
+
+                now = System.nanoTime();
+                if (lastFrameTime != 0) {
+                    recordFrame(now, now - lastFrameTime);
+                }
+                lastFrameTime = now;
+
+                long period = switch (mode) {
+                    case VSYNC -> 1_000_000_000L / refreshRate;
+                    case CAPPED -> 1_000_000_000L / framesPerSecond;
+                    case UNCAPPED -> 0;
+                };
+                nextFrameTime = waitForFrame(nextFrameTime, period);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException e) {
+
+            // The canvas has been removed while a frame was being drawn
+            if (isRunning) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Draw a frame into the back buffer and show it, again if the contents of the buffers are lost meanwhile
+     */
+    private void render(Scene scene, double slideProgress, FrameRateMode mode) {
+        do {
+            do {
+                var g = bufferStrategy.getDrawGraphics();
+                try {
+                    g.setColor(getBackground());
+                    g.fillRect(0, 0, getWidth(), getHeight());
+                    painter.paint(g, scene, slideProgress);
+                } finally {
+                    g.dispose();
+                }
+            } while (bufferStrategy.contentsRestored());
+
+            bufferStrategy.show();
+        } while (bufferStrategy.contentsLost());
+
+        if (mode == FrameRateMode.VSYNC) {
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+
+    /**
+     * Wait for the time of the next frame, the frames already missed are skipped
+     *
+     * @param frameTime time of the frame just drawn
+     * @param period    time between frames, 0 to not wait
+     * @return time of the next frame
+     */
+    private long waitForFrame(long frameTime, long period) {
+        if (period == 0) {
+            return System.nanoTime();
+        }
+
+        long nextFrameTime = frameTime + period;
+        long now = System.nanoTime();
+        if (now < nextFrameTime) {
+            LockSupport.parkNanos(nextFrameTime - now);
+            return nextFrameTime;
+        }
+
+        long missed = (now - nextFrameTime) / period;
+        skippedFrameCount += missed;
+        return nextFrameTime + missed * period;
+    }
+
+    private int getRefreshRate() {
+        var configuration = getGraphicsConfiguration();
+        int refreshRate = configuration != null
+                ? configuration.getDevice().getDisplayMode().getRefreshRate()
+                : DisplayMode.REFRESH_RATE_UNKNOWN;
+        return refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN ? refreshRate : DEFAULT_REFRESH_RATE;
+    }
+
+    /**
+     * Save the time of a frame, and print the statistics of the last second if they are enabled
+     */
+    private void recordFrame(long now, long frameTime) {
+        frameTimes[frameCount % FRAME_TIME_SAMPLES] = frameTime;
+        frameCount++;
+        if (!PRINT_FRAME_STATISTICS || now - lastReportTime < 1_000_000_000L) {
+            return;
+        }
+
+        var samples = Arrays.copyOf(frameTimes, Math.min(frameCount, FRAME_TIME_SAMPLES));
+        Arrays.sort(samples);
+        System.out.printf("Frames: %d, frame time avg %.2f ms, p99 %.2f ms, max %.2f ms, skipped %d%n",
+                frameCount,
+                Arrays.stream(samples).average().orElse(0) / 1e6,
+                samples[(int) Math.ceil(samples.length * 0.99) - 1] / 1e6,
+                samples[samples.length - 1] / 1e6,
+                skippedFrameCount);
+
+        frameCount = 0;
+        skippedFrameCount = 0;
+        lastReportTime = now;
+    }
+}
@@ -4,8 +4,11 @@
 package hoaftq.puzzle.game;
 
 import hoaftq.puzzle.AboutDialog;
+import hoaftq.puzzle.generator.Difficulty;
+import hoaftq.puzzle.generator.PuzzleGenerator;
 import hoaftq.puzzle.info.GameInfoView;
 import hoaftq.puzzle.option.*;
+import hoaftq.puzzle.solver.BoardShape;
 import hoaftq.puzzle.utility.WindowUtil;
 
 import javax.swing.*;
@@ -18,15 +21,34 @@ public class GameFrame extends JFrame {
     private static final int DEFAULT_WIDTH = 500;
     private static final int DEFAULT_HEIGHT = 500;
 
+    private static final int GENERATOR_CAPACITY = 4;
+
+    private static final int[] AUTO_SOLVE_SPEEDS = {10, 100, 1000, 10000};
+    private static final int[] FRAME_RATE_CAPS = {60, 144};
+
     private GamePanel gamePanel;
     private GameOption gameOption;
 
+    /**
+     * Difficulty of new games, null for a random board
+     */
+    private Difficulty difficulty;
+    private PuzzleGenerator puzzleGenerator;
+
+    /**
+     * Generator a new game is waiting for, null if no new game is waiting
+     */
+    private PuzzleGenerator waitedGenerator;
+
+    private JMenu difficultyMenu;
+    private JRadioButtonMenuItem randomMenuItem;
+
     public GameFrame(GameOption gameOption) {
         this.gameOption = gameOption;
         initializeFrame();
         createGamePanel();
 
-        gamePanel.newGame(gameOption);
+        newGame();
 
         // Update game panel's size when frame resized
         setUpGamePanelResize();
@@ -87,6 +109,7 @@ public class GameFrame extends JFrame {
     private void addMenu() {
         var menuBar = new JMenuBar();
         menuBar.add(createGameMenu());
+        menuBar.add(createViewMenu());
         menuBar.add(createAboutMenu());
         setJMenuBar(menuBar);
     }
@@ -97,6 +120,14 @@ public class GameFrame extends JFrame {
 
         createNewGameMenuItem(gameMenu);
         gameMenu.add(createCustomizeGameMenuItem());
+        gameMenu.add(createDifficultyMenu());
+        createPuzzleIdMenuItem(gameMenu);
+
+        gameMenu.addSeparator();
+
+        createUndoRedoMenuItems(gameMenu);
+        createHintMenuItem(gameMenu);
+        createAutoSolveMenuItems(gameMenu);
 
         gameMenu.addSeparator();
 
@@ -109,7 +140,248 @@ public class GameFrame extends JFrame {
         var newGameMenuItem = gameMenu.add("New Game");
         newGameMenuItem.setMnemonic('N');
         newGameMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_N, InputEvent.CTRL_MASK));
-        newGameMenuItem.addActionListener(e -> gamePanel.newGame(gameOption));
+        newGameMenuItem.addActionListener(e -> newGame());
+    }
+
+    private void createPuzzleIdMenuItem(JMenu gameMenu) {
+        var puzzleIdMenuItem = gameMenu.add("Puzzle ID...");
+        puzzleIdMenuItem.setMnemonic('I');
+        puzzleIdMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_I, InputEvent.CTRL_DOWN_MASK));
+        puzzleIdMenuItem.addActionListener(e -> {
+            var currentId = gamePanel.getPuzzleId();
+            var text = (String) JOptionPane.showInputDialog(this,
+                    "Puzzle ID of this board, or enter another one to play it:", "Puzzle ID",
+                    JOptionPane.PLAIN_MESSAGE, null, null, currentId != null ? currentId.toString() : "");
+            if (text == null || text.isBlank() || currentId != null && text.strip().equalsIgnoreCase(currentId.toString())) {
+                return;
+            }
+
+            PuzzleId puzzleId;
+            try {
+                puzzleId = PuzzleId.parse(text);
+            } catch (IllegalArgumentException exception) {
+                JOptionPane.showMessageDialog(this, exception.getMessage(), "Puzzle ID", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            playPuzzle(puzzleId);
+        });
+    }
+
+    /**
+     * Start a new game on the board of an id, the size of the board and the corner of the empty tile are taken
+     * from the id for this game only, they are not saved
+     */
+    private void playPuzzle(PuzzleId puzzleId) {
+        boolean largeBoard = gameOption.largeBoard()
+                             || puzzleId.row() > GameOptionValidator.MAX_ROW_OR_COLUMN
+                             || puzzleId.column() > GameOptionValidator.MAX_ROW_OR_COLUMN;
+        gameOption = new GameOption(gameOption.usedImage(), gameOption.puzzleImage(),
+                puzzleId.row(), puzzleId.column(), puzzleId.emptyPosition(), largeBoard);
+        restartGenerator();
+        startGame(puzzleId.createBoard());
+    }
+
+    private JMenu createDifficultyMenu() {
+        difficultyMenu = new JMenu("Difficulty");
+        difficultyMenu.setMnemonic('D');
+
+        var group = new ButtonGroup();
+        randomMenuItem = new JRadioButtonMenuItem("Random", true);
+        randomMenuItem.addActionListener(e -> changeDifficulty(null));
+        group.add(randomMenuItem);
+        difficultyMenu.add(randomMenuItem);
+
+        for (var value : Difficulty.values()) {
+            var name = value.name().charAt(0) + value.name().substring(1).toLowerCase();
+            var menuItem = new JRadioButtonMenuItem(name);
+            menuItem.addActionListener(e -> changeDifficulty(value));
+            group.add(menuItem);
+            difficultyMenu.add(menuItem);
+        }
+
+        return difficultyMenu;
+    }
+
+    private void changeDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+        restartGenerator();
+        newGame();
+    }
+
+    /**
+     * Start a new game, on a generated board if a difficulty is chosen.
+     * When no board is ready the current game goes on until one has been generated, the event dispatch thread
+     * never waits for it
+     */
+    private void newGame() {
+        if (puzzleGenerator == null) {
+            startGame(null);
+            return;
+        }
+
+        var board = puzzleGenerator.poll();
+        if (board != null) {
+            startGame(board);
+        } else {
+            waitForBoard(puzzleGenerator);
+        }
+    }
+
+    private void startGame(GameLogic board) {
+        waitedGenerator = null;
+        gamePanel.newGame(gameOption, board);
+        updateTitle();
+    }
+
+    /**
+     * Start a new game when the generator has a board, on a thread of its own
+     */
+    private void waitForBoard(PuzzleGenerator generator) {
+        if (waitedGenerator == generator) {
+            return;
+        }
+
+        waitedGenerator = generator;
+        setTitle("Puzzle - Generating a " + difficulty.name().toLowerCase() + " board...");
+        Thread.ofVirtual().name("new-game").start(() -> {
+            try {
+                var board = generator.take();
+                SwingUtilities.invokeLater(() -> {
+                    if (waitedGenerator == generator && board != null) {
+                        startGame(board);
+                    }
+                });
+            } catch (IllegalStateException e) {
+                SwingUtilities.invokeLater(() -> generatorFailed(generator, e));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Go back to random boards when the generator has stopped on an error, choosing a difficulty is disabled
+     */
+    private void generatorFailed(PuzzleGenerator generator, IllegalStateException exception) {
+        if (generator != puzzleGenerator) {
+            return;
+        }
+
+        exception.printStackTrace();
+        JOptionPane.showMessageDialog(this,
+                "Boards of the chosen difficulty can't be generated, new games use random boards.", "Puzzle",
+                JOptionPane.ERROR_MESSAGE);
+        difficultyMenu.setEnabled(false);
+        randomMenuItem.setSelected(true);
+        difficulty = null;
+        restartGenerator();
+        startGame(null);
+    }
+
+    private void updateTitle() {
+        var puzzleId = gamePanel.getPuzzleId();
+        setTitle(puzzleId != null ? "Puzzle - " + puzzleId : "Puzzle");
+    }
+
+    /**
+     * Replace the generator by one for the current game option and difficulty.
+     * The generator is kept with the boards it has generated if it already generates the same boards
+     */
+    private void restartGenerator() {
+        int row = gameOption.row();
+        int column = gameOption.column();
+        var position = gameOption.emptyPosition();
+        var shape = BoardShape.of(row, column, position);
+        if (puzzleGenerator != null && difficulty != null && puzzleGenerator.getShape().equals(shape)
+            && puzzleGenerator.getMinMoves() == difficulty.getMinMoves(row, column)
+            && puzzleGenerator.getMaxMoves() == difficulty.getMaxMoves(row, column)) {
+            return;
+        }
+
+        waitedGenerator = null;
+        if (puzzleGenerator != null) {
+            puzzleGenerator.close();
+            puzzleGenerator = null;
+        }
+
+        if (difficulty == null || !PuzzleGenerator.isSupported(shape)) {
+            return;
+        }
+
+        puzzleGenerator = new PuzzleGenerator(row, column, position,
+                difficulty.getMinMoves(row, column), difficulty.getMaxMoves(row, column), GENERATOR_CAPACITY);
+        puzzleGenerator.start(Math.max(Runtime.getRuntime().availableProcessors() - 1, 1));
+    }
+
+    private void createUndoRedoMenuItems(JMenu gameMenu) {
+        var undoMenuItem = gameMenu.add("Undo");
+        undoMenuItem.setMnemonic('U');
+        undoMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK));
+        undoMenuItem.addActionListener(e -> gamePanel.undo());
+
+        var redoMenuItem = gameMenu.add("Redo");
+        redoMenuItem.setMnemonic('R');
+        redoMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK));
+        redoMenuItem.addActionListener(e -> gamePanel.redo());
+    }
+
+    private void createHintMenuItem(JMenu gameMenu) {
+        var hintMenuItem = gameMenu.add("Hint");
+        hintMenuItem.setMnemonic('H');
+        hintMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_H, InputEvent.CTRL_DOWN_MASK));
+        hintMenuItem.addActionListener(e -> gamePanel.showHint());
+    }
+
+    private void createAutoSolveMenuItems(JMenu gameMenu) {
+        var autoSolveMenuItem = gameMenu.add("Auto Solve");
+        autoSolveMenuItem.setMnemonic('A');
+        autoSolveMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_A, InputEvent.CTRL_DOWN_MASK));
+        autoSolveMenuItem.addActionListener(e -> gamePanel.toggleAutoSolve());
+
+        var speedMenu = new JMenu("Auto Solve Speed");
+        speedMenu.setMnemonic('S');
+        var group = new ButtonGroup();
+        for (int movesPerSecond : AUTO_SOLVE_SPEEDS) {
+            var menuItem = new JRadioButtonMenuItem(movesPerSecond + " moves per second",
+                    movesPerSecond == SolutionPlayer.DEFAULT_MOVES_PER_SECOND);
+            menuItem.addActionListener(e -> gamePanel.setAutoSolveSpeed(movesPerSecond));
+            group.add(menuItem);
+            speedMenu.add(menuItem);
+        }
+        gameMenu.add(speedMenu);
+    }
+
+    private JMenu createViewMenu() {
+        var viewMenu = new JMenu("View");
+        viewMenu.setMnemonic('V');
+
+        var activeRenderingMenuItem = new JCheckBoxMenuItem("Animate Moves");
+        activeRenderingMenuItem.setMnemonic('M');
+        activeRenderingMenuItem.addActionListener(
+                e -> gamePanel.setActiveRendering(activeRenderingMenuItem.isSelected()));
+        viewMenu.add(activeRenderingMenuItem);
+
+        var frameRateMenu = new JMenu("Frame Rate");
+        frameRateMenu.setMnemonic('F');
+        var group = new ButtonGroup();
+        var vsyncMenuItem = new JRadioButtonMenuItem("Display Refresh Rate", true);
+        vsyncMenuItem.addActionListener(e -> gamePanel.setFrameRate(FrameRateMode.VSYNC, FRAME_RATE_CAPS[0]));
+        group.add(vsyncMenuItem);
+        frameRateMenu.add(vsyncMenuItem);
+        for (int framesPerSecond : FRAME_RATE_CAPS) {
+            var menuItem = new JRadioButtonMenuItem(framesPerSecond + " frames per second");
+            menuItem.addActionListener(e -> gamePanel.setFrameRate(FrameRateMode.CAPPED, framesPerSecond));
+            group.add(menuItem);
+            frameRateMenu.add(menuItem);
+        }
+        var uncappedMenuItem = new JRadioButtonMenuItem("Unlimited");
+        uncappedMenuItem.addActionListener(e -> gamePanel.setFrameRate(FrameRateMode.UNCAPPED, FRAME_RATE_CAPS[0]));
+        group.add(uncappedMenuItem);
+        frameRateMenu.add(uncappedMenuItem);
+        viewMenu.add(frameRateMenu);
+
+        return viewMenu;
     }
 
     private JMenuItem createCustomizeGameMenuItem() {
@@ -127,9 +399,10 @@ public class GameFrame extends JFrame {
 
             if (optionDialog.showDialog()) {
                 gameOption = optionDialog.getGameOption();
+                restartGenerator();
 
                 // new game with game information get from option dialog
-                gamePanel.newGame(gameOption);
+                newGame();
             }
         });
 
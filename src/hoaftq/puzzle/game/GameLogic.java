@@ -1,105 +1,366 @@
 package hoaftq.puzzle.game;
 
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.Objects;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class GameLogic {
-    private final byte row;
-    private final byte column;
 
-    private TilePosition[][] tilePositions;
-    private TilePosition emptyTilePosition;
+    /**
+     * Maximum number of cells of a board that can be packed into a long, 4 bits per cell
+     */
+    public static final int MAX_PACKED_CELLS = 16;
+
+    private final int row;
+    private final int column;
+
+    /**
+     * Interned positions of all the cells on the game board, indexed by cell index
+     */
+    private final TilePosition[] positions;
+
+    /**
+     * Cell index of the empty tile when the game is finished
+     */
+    private final int emptyTile;
+    private final EmptyTilePosition emptyPosition;
+
+    /**
+     * Game board as a permutation of cell indexes: tiles[i] is the original cell index of the tile placed at cell i.
+     * A cell index is calculated as x + y * row
+     */
+    private int[] tiles;
+    private int emptyIndex;
+
+    /**
+     * Number of tiles, the empty one excluded, that are not at their original cells.
+     * It is updated on every move so that checking whether the game finishes doesn't scan the board
+     */
+    private int misplacedTileCount;
+
+    /**
+     * Moves made since the game board has been created
+     */
+    private final MoveLog moveLog;
+
+    /**
+     * Id of the current game board, null if the board has been given instead of shuffled
+     */
+    private PuzzleId puzzleId;
 
-    public GameLogic(byte row, byte column, EmptyTilePosition position) {
+    public GameLogic(int row, int column, EmptyTilePosition position) {
         this.row = row;
         this.column = column;
 
-        emptyTilePosition = switch (position) {
-            case TOP_LEFT -> new TilePosition((byte) 0, (byte) 0);
-            case TOP_RIGHT -> new TilePosition((byte) (row - 1), (byte) 0);
-            case BOTTOM_RIGHT -> new TilePosition((byte) (row - 1), (byte) (column - 1));
-            case BOTTOM_LEFT -> new TilePosition((byte) 0, (byte) (column - 1));
-        };
+        positions = new TilePosition[row * column];
+        for (int j = 0; j < column; j++) {
+            for (int i = 0; i < row; i++) {
+                positions[i + j * row] = new TilePosition(i, j);
+            }
+        }
+
+        emptyTile = position.cellIndex(row, column);
+        emptyPosition = position;
+        emptyIndex = emptyTile;
+        moveLog = new MoveLog();
     }
 
-    public byte getRow() {
+    /**
+     * Create a copy of another game logic, including its current game board
+     */
+    public GameLogic(GameLogic other) {
+        row = other.row;
+        column = other.column;
+        positions = other.positions;
+        emptyTile = other.emptyTile;
+        emptyPosition = other.emptyPosition;
+        emptyIndex = other.emptyIndex;
+        misplacedTileCount = other.misplacedTileCount;
+        moveLog = new MoveLog(other.moveLog);
+        tiles = other.tiles == null ? null : other.tiles.clone();
+        puzzleId = other.puzzleId;
+    }
+
+    public int getRow() {
         return row;
     }
 
-    public byte getColumn() {
+    public int getColumn() {
         return column;
     }
 
+    /**
+     * Get number of cells on the game board
+     */
+    public int getCellCount() {
+        return positions.length;
+    }
+
     public TilePosition getEmptyTilePosition() {
-        return emptyTilePosition;
+        return positions[emptyIndex];
+    }
+
+    /**
+     * Get cell index of the empty tile
+     */
+    public int getEmptyIndex() {
+        return emptyIndex;
+    }
+
+    /**
+     * Get original cell index of the empty tile, it is where the empty tile is when the game finishes
+     */
+    public int getEmptyTile() {
+        return emptyTile;
+    }
+
+    /**
+     * Get number of tiles that are not at their original cells, the empty tile is not counted.
+     * It can be used as a progress of the game
+     */
+    public int getMisplacedTileCount() {
+        return misplacedTileCount;
     }
 
     public TilePosition getAt(int x, int y) {
-        Objects.requireNonNull(tilePositions, "createGameBoard must be called first.");
-        return tilePositions[x][y];
+        return positions[getTileAt(x + y * row)];
+    }
+
+    /**
+     * Get original cell index of the tile placed at a cell
+     *
+     * @param index cell index
+     */
+    public int getTileAt(int index) {
+        Objects.requireNonNull(tiles, "createGameBoard must be called first.");
+        return tiles[index];
+    }
+
+    /**
+     * Pack the game board into a long, 4 bits per cell with cell 0 at the lowest bits.
+     * Only available for boards that have no more than {@link #MAX_PACKED_CELLS} cells
+     */
+    public long getPackedState() {
+        Objects.requireNonNull(tiles, "createGameBoard must be called first.");
+        if (tiles.length > MAX_PACKED_CELLS) {
+            throw new IllegalStateException("Only boards with up to " + MAX_PACKED_CELLS + " cells can be packed.");
+        }
+
+        long state = 0;
+        for (int i = tiles.length - 1; i >= 0; i--) {
+            state = (state << 4) | tiles[i];
+        }
+
+        return state;
+    }
+
+    /**
+     * Check if another game logic has the same game board as this one
+     */
+    public boolean hasSameBoard(GameLogic other) {
+        return row == other.row && column == other.column && Arrays.equals(tiles, other.tiles);
+    }
+
+    /**
+     * Check if another game logic has the same size and the same corner of the empty tile
+     */
+    public boolean hasSameShape(GameLogic other) {
+        return row == other.row && column == other.column && emptyTile == other.emptyTile;
+    }
+
+    /**
+     * Copy the board of another game logic of the same shape without allocating, the move log is cleared
+     */
+    public void copyBoard(GameLogic other) {
+        if (!hasSameShape(other)) {
+            throw new IllegalArgumentException("The game boards have different shapes.");
+        }
+
+        if (tiles == null || other.tiles == null) {
+            tiles = other.tiles == null ? null : other.tiles.clone();
+        } else {
+            System.arraycopy(other.tiles, 0, tiles, 0, tiles.length);
+        }
+        emptyIndex = other.emptyIndex;
+        misplacedTileCount = other.misplacedTileCount;
+        moveLog.clear();
+        puzzleId = other.puzzleId;
     }
 
     public void createGameBoard() {
+        createGameBoard(ShuffleMode.RANDOM_PERMUTATION);
+    }
+
+    public void createGameBoard(ShuffleMode shuffleMode) {
+        createGameBoard(shuffleMode, PuzzleId.randomSeed());
+    }
+
+    /**
+     * Create a game board from a seed, the same seed and game board size always give the same board
+     */
+    public void createGameBoard(ShuffleMode shuffleMode, long seed) {
         initializeTiles();
-        shuffleTiles();
+
+        var random = new SplittableRandom(seed);
+        switch (shuffleMode) {
+            case RANDOM_PERMUTATION -> shuffleTiles(random);
+            case RANDOM_WALK -> moveRandomlyToAllTiles(random);
+            case RANDOM_MOVES -> moveRandomly(PuzzleId.randomMoveCount(seed), random);
+        }
+        moveLog.clear();
+        puzzleId = new PuzzleId(row, column, emptyPosition, shuffleMode, seed);
+    }
+
+    /**
+     * Get the id that creates the current game board again, null if the board has been given
+     */
+    public PuzzleId getPuzzleId() {
+        return puzzleId;
+    }
+
+    /**
+     * Create a game board with given tiles instead of shuffling them
+     *
+     * @param tiles original cell index of the tile placed at each cell
+     */
+    public void createGameBoard(int[] tiles) {
+        if (tiles.length != positions.length) {
+            throw new IllegalArgumentException("Expected " + positions.length + " tiles.");
+        }
+
+        var placed = new boolean[tiles.length];
+        for (int tile : tiles) {
+            if (tile < 0 || tile >= tiles.length || placed[tile]) {
+                throw new IllegalArgumentException("Tiles must be a permutation of the cell indexes.");
+            }
+            placed[tile] = true;
+        }
+
+        this.tiles = tiles.clone();
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] == emptyTile) {
+                emptyIndex = i;
+            }
+        }
+        countMisplacedTiles();
+        moveLog.clear();
+        puzzleId = null;
     }
 
     private void initializeTiles() {
-        tilePositions = new TilePosition[row][column];
-        for (byte i = 0; i < row; i++) {
-            for (byte j = 0; j < column; j++) {
-                tilePositions[i][j] = new TilePosition(i, j);
+        tiles = new int[positions.length];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = i;
+        }
+        emptyIndex = emptyTile;
+        misplacedTileCount = 0;
+    }
+
+    /**
+     * Shuffle all the tiles except the empty one with Fisher-Yates.
+     * The empty tile stays at its original cell, so the board is solvable only if the permutation is even.
+     * An odd permutation is fixed by swapping two more tiles
+     */
+    private void shuffleTiles(SplittableRandom random) {
+        do {
+            boolean isOdd = false;
+            for (int i = tiles.length - 2; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                if (i != j) {
+                    swapTiles(skipEmptyTile(i), skipEmptyTile(j));
+                    isOdd = !isOdd;
+                }
+            }
+
+            if (isOdd) {
+                swapTiles(skipEmptyTile(0), skipEmptyTile(1));
+            }
+
+            countMisplacedTiles();
+        } while (hasFinished());
+    }
+
+    private void countMisplacedTiles() {
+        misplacedTileCount = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] != i && tiles[i] != emptyTile) {
+                misplacedTileCount++;
             }
         }
     }
 
-    private void shuffleTiles() {
-        var tilePositions = new LinkedList<TilePosition>();
-        for (TilePosition[] pa : this.tilePositions) {
-            tilePositions.addAll(Arrays.asList(pa));
+    /**
+     * Map an index of the tiles that are not empty to a cell index
+     */
+    private int skipEmptyTile(int index) {
+        return index < emptyTile ? index : index + 1;
+    }
+
+    private void swapTiles(int first, int second) {
+        var tile = tiles[first];
+        tiles[first] = tiles[second];
+        tiles[second] = tile;
+    }
+
+    private void moveRandomlyToAllTiles(SplittableRandom random) {
+
+        // Cells the empty tile has to visit, the visited ones are swapped to the end of the array
+        var remainingCells = new int[tiles.length - 1];
+        for (int i = 0, cell = 0; cell < tiles.length; cell++) {
+            if (cell != emptyTile) {
+                remainingCells[i++] = cell;
+            }
         }
-        tilePositions.remove(emptyTilePosition);
 
         // Random move from empty piece to all piece on the pieces list
-        var savedEmptyTilePosition = emptyTilePosition;
-        var random = new Random();
-        while (!tilePositions.isEmpty()) {
-            int index = random.nextInt(tilePositions.size());
-            moveRandomly(tilePositions.get(index));
-            tilePositions.remove(index);
+        for (int remaining = remainingCells.length; remaining > 0; remaining--) {
+            int index = random.nextInt(remaining);
+            moveRandomly(positions[remainingCells[index]], random);
+            remainingCells[index] = remainingCells[remaining - 1];
         }
 
         // Move empty piece to default position
-        moveRandomly(savedEmptyTilePosition);
+        moveRandomly(positions[emptyTile], random);
+    }
+
+    /**
+     * Move the empty tile randomly a number of times, never undoing the previous move
+     */
+    private void moveRandomly(int moveCount, SplittableRandom random) {
+        var directions = Direction.values();
+        Direction previous = null;
+        for (int i = 0; i < moveCount; ) {
+            var direction = directions[random.nextInt(directions.length)];
+            int x = emptyIndex % row + direction.stepX();
+            int y = emptyIndex / row + direction.stepY();
+            if (direction.opposite() != previous && x >= 0 && x < row && y >= 0 && y < column) {
+                swapEmptyWith(x + y * row);
+                previous = direction;
+                i++;
+            }
+        }
     }
 
     /**
      * Random move from empty tile to destination position
      */
-    private void moveRandomly(TilePosition destinationPos) {
+    private void moveRandomly(TilePosition destinationPos, SplittableRandom random) {
         // Calculate horizontal move step
-        var stepX = Byte.compare(destinationPos.x(), emptyTilePosition.x());
+        var stepX = Integer.compare(destinationPos.x(), emptyIndex % row);
 
         // Calculate vertical move step
-        var stepY = Byte.compare(destinationPos.y(), emptyTilePosition.y());
+        var stepY = Integer.compare(destinationPos.y(), emptyIndex / row);
 
-        var random = new Random();
         while (true) {
             if (random.nextBoolean()) {
 
-                // Move horizontally 1 step
-                tilePositions[emptyTilePosition.x()][emptyTilePosition.y()]
-                        = tilePositions[emptyTilePosition.x() + stepX][emptyTilePosition.y()];
-                emptyTilePosition = emptyTilePosition.moveHorizontally(stepX);
+                // Move horizontally 1 step, shuffling moves are not recorded in the move log
+                swapEmptyWith(emptyIndex + stepX);
 
                 // If the empty position can't be moved horizontally anymore, move vertically until reaching the destination
-                if (emptyTilePosition.x() == destinationPos.x()) {
-                    while (emptyTilePosition.y() != destinationPos.y()) {
-                        tilePositions[destinationPos.x()][emptyTilePosition.y()]
-                                = tilePositions[destinationPos.x()][emptyTilePosition.y() + stepY];
-                        emptyTilePosition = emptyTilePosition.moveVertically(stepY);
+                if (emptyIndex % row == destinationPos.x()) {
+                    while (emptyIndex / row != destinationPos.y()) {
+                        swapEmptyWith(emptyIndex + stepY * row);
                     }
 
                     break;
@@ -107,16 +368,12 @@ public class GameLogic {
             } else {
 
                 // Move vertically 1 step
-                tilePositions[emptyTilePosition.x()][emptyTilePosition.y()]
-                        = tilePositions[emptyTilePosition.x()][emptyTilePosition.y() + stepY];
-                emptyTilePosition = emptyTilePosition.moveVertically(stepY);
+                swapEmptyWith(emptyIndex + stepY * row);
 
                 // If the empty position can't be moved vertically anymore, move horizontally until reaching the destination
-                if (emptyTilePosition.y() == destinationPos.y()) {
-                    while (destinationPos.x() != emptyTilePosition.x()) {
-                        tilePositions[emptyTilePosition.x()][destinationPos.y()]
-                                = tilePositions[emptyTilePosition.x() + stepX][destinationPos.y()];
-                        emptyTilePosition = emptyTilePosition.moveHorizontally(stepX);
+                if (emptyIndex / row == destinationPos.y()) {
+                    while (emptyIndex % row != destinationPos.x()) {
+                        swapEmptyWith(emptyIndex + stepX);
                     }
 
                     break;
@@ -129,21 +386,13 @@ public class GameLogic {
      * Check if the game finishes
      */
     public boolean hasFinished() {
-        for (int i = 0; i < row; i++) {
-            for (int j = 0; j < column; j++) {
-                if (tilePositions[i][j].x() != i || tilePositions[i][j].y() != j) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+        return misplacedTileCount == 0;
     }
 
     public boolean moveEmptyPositionHorizontally(int step) {
-        if (emptyTilePosition.x() + step >= 0 && emptyTilePosition.x() + step < row) {
-            tilePositions[emptyTilePosition.x()][emptyTilePosition.y()] = tilePositions[emptyTilePosition.x() + step][emptyTilePosition.y()];
-            emptyTilePosition = emptyTilePosition.moveHorizontally(step);
+        int x = emptyIndex % row + step;
+        if (x >= 0 && x < row) {
+            moveEmptyTo(emptyIndex + step);
             return true;
         }
 
@@ -151,24 +400,121 @@ public class GameLogic {
     }
 
     public boolean moveEmptyPositionVertically(int step) {
-        if (emptyTilePosition.y() + step >= 0 && emptyTilePosition.y() + step < column) {
-            tilePositions[emptyTilePosition.x()][emptyTilePosition.y()]
-                    = tilePositions[emptyTilePosition.x()][emptyTilePosition.y() + step];
-            emptyTilePosition = emptyTilePosition.moveVertically(step);
+        int y = emptyIndex / row + step;
+        if (y >= 0 && y < column) {
+            moveEmptyTo(emptyIndex + step * row);
             return true;
         }
 
         return false;
     }
 
+    public boolean moveEmptyPosition(Direction direction) {
+        return direction.stepX() != 0
+                ? moveEmptyPositionHorizontally(direction.stepX())
+                : moveEmptyPositionVertically(direction.stepY());
+    }
+
     public boolean moveEmptyPositionTo(TilePosition position) {
-        if (Math.abs(position.x() - emptyTilePosition.x()) + Math.abs(position.y() - emptyTilePosition.y()) == 1) {
-            tilePositions[emptyTilePosition.x()][emptyTilePosition.y()] = tilePositions[position.x()][position.y()];
-            emptyTilePosition = position;
+        return moveEmptyPositionTo(position.x(), position.y());
+    }
+
+    /**
+     * Move the empty tile to a cell next to it.
+     * Like all the other moves, it doesn't allocate any object
+     *
+     * @param x horizontal index of the cell
+     * @param y vertical index of the cell
+     * @return true if the empty tile has been moved, false if the cell is not next to the empty tile
+     */
+    public boolean moveEmptyPositionTo(int x, int y) {
+        if (x >= 0 && x < row && y >= 0 && y < column
+            && Math.abs(x - emptyIndex % row) + Math.abs(y - emptyIndex / row) == 1) {
+            moveEmptyTo(x + y * row);
             return true;
         }
 
         return false;
     }
-}
 
+    /**
+     * Check if there is a move to undo
+     */
+    public boolean canUndo() {
+        return moveLog.canUndo();
+    }
+
+    /**
+     * Check if there is an undone move to redo
+     */
+    public boolean canRedo() {
+        return moveLog.canRedo();
+    }
+
+    /**
+     * Revert the last move
+     *
+     * @return true if a move has been reverted, false if there is no move to undo
+     */
+    public boolean undo() {
+        var direction = moveLog.undo();
+        if (direction == null) {
+            return false;
+        }
+
+        swapEmptyWith(emptyIndex - direction.stepX() - direction.stepY() * row);
+        return true;
+    }
+
+    /**
+     * Make the last undone move again
+     *
+     * @return true if a move has been made, false if there is no move to redo
+     */
+    public boolean redo() {
+        var direction = moveLog.redo();
+        if (direction == null) {
+            return false;
+        }
+
+        swapEmptyWith(emptyIndex + direction.stepX() + direction.stepY() * row);
+        return true;
+    }
+
+    /**
+     * Get number of moves made since the game board has been created, undone moves excluded
+     */
+    public int getMoveCount() {
+        return moveLog.size();
+    }
+
+    private void moveEmptyTo(int index) {
+        int step = index - emptyIndex;
+        if (step == 0) {
+            return;
+        }
+
+        moveLog.append(step == 1 ? Direction.RIGHT
+                : step == -1 ? Direction.LEFT
+                : step > 0 ? Direction.DOWN
+                : Direction.UP);
+        swapEmptyWith(index);
+    }
+
+    private void swapEmptyWith(int index) {
+        if (index == emptyIndex) {
+            return;
+        }
+
+        int tile = tiles[index];
+        if (tile == index) {
+            misplacedTileCount++;
+        } else if (tile == emptyIndex) {
+            misplacedTileCount--;
+        }
+
+        tiles[emptyIndex] = tile;
+        tiles[index] = emptyTile;
+        emptyIndex = index;
+    }
+}
@@ -5,6 +5,7 @@ package hoaftq.puzzle.game;
 
 import hoaftq.puzzle.info.GameInfoView;
 import hoaftq.puzzle.option.GameOption;
+import hoaftq.puzzle.solver.BoardShape;
 import hoaftq.puzzle.tile.ImageTilesView;
 import hoaftq.puzzle.tile.NumberTilesView;
 import hoaftq.puzzle.tile.TilesView;
@@ -15,7 +16,9 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Panel display game board
@@ -25,86 +28,524 @@ public class GamePanel extends JPanel {
     private final static int MARGIN_TOP = 0;
     private final static int MARGIN_RIGHT = 0;
     private final static int MARGIN_BOTTOM = 50;
+    private final static Color HINT_COLOR = new Color(255, 140, 0);
+    private final static int HINT_THICKNESS = 3;
+
+    /**
+     * Print the number of pixels painted per second when the puzzle.paintStats system property is true
+     */
+    private final static boolean PRINT_PAINT_STATISTICS = Boolean.getBoolean("puzzle.paintStats");
+
+    /**
+     * Time without resizing before the tiles are rebuilt at the new size
+     */
+    private final static int RESIZE_DEBOUNCE_MILLIS = 150;
 
     private final GameInfoView gameInfoView;
     private TilesView tilesView;
     private GameLogic gameLogic;
+    private GameOption gameOption;
+
+    /**
+     * Size the game board is shown at. While the window is being resized it differs from the size of the tiles view,
+     * the last frame is scaled to it until tiles of the new size have been built
+     */
+    private int boardWidth;
+    private int boardHeight;
+
+    /**
+     * Game board drawn at the size of the tiles view, scaled while resizing. It is drawn again when the board changes
+     */
+    private BufferedImage previewFrame;
+
+    private final Timer resizeTimer = new Timer(RESIZE_DEBOUNCE_MILLIS, e -> rebuildTilesViews());
+
+    /**
+     * Changes with every new size, so that the tiles built for a previous size are dropped
+     */
+    private int resizeId;
 
     private boolean isPlaying = false;
 
+    private final HintEngine hintEngine = new HintEngine();
+    private final SolutionPlayer solutionPlayer = new SolutionPlayer(this::updateAfterAutoSolving);
+
+    /**
+     * Cell index of the tile to move as hinted, -1 if no hint is shown
+     */
+    private int hintIndex = -1;
+
+    /**
+     * Pixels painted since the last tick, only counted when the statistics are printed
+     */
+    private long paintedPixels;
+
+    private final MouseHandler mouseHandler = new MouseHandler();
+
+    /**
+     * Canvas drawing the game by active rendering, null when the panel paints itself
+     */
+    private GameCanvas gameCanvas;
+
+    /**
+     * Tiles view of the canvas, it is only used by the render thread
+     */
+    private TilesView canvasTilesView;
+    private FrameRateMode frameRateMode = FrameRateMode.VSYNC;
+    private int maxFramesPerSecond = 60;
+
+    /**
+     * Cell of the empty tile before the last move, which is animated by active rendering, -1 to not animate it
+     */
+    private int slideFrom = -1;
+    private int slideId;
+
+    /**
+     * Whether a scene will be posted at the end of the current event, the repaints of one event share it
+     */
+    private boolean isScenePending;
+
     public GamePanel(GameInfoView gameInfoView) {
         this.gameInfoView = gameInfoView;
-        this.gameInfoView.registerTickListener(t -> repaint());
+        this.gameInfoView.registerTickListener(t -> {
+            repaint(gameInfoView.getTimeBounds(getInformationTop(boardHeight), getInformationBottom(boardHeight)));
+            if (PRINT_PAINT_STATISTICS) {
+                System.out.println("Painted pixels/s: " + paintedPixels);
+                paintedPixels = 0;
+            }
+        });
 
-        addMouseListener(new MouseHandler());
+        addMouseListener(mouseHandler);
         addKeyListener(new KeyHandler());
 
+        setLayout(new BorderLayout());
         setFocusable(true);
+        resizeTimer.setRepeats(false);
+    }
+
+    /**
+     * Switch between painting the panel through Swing and active rendering by a canvas, which animates the moves
+     */
+    public void setActiveRendering(boolean enabled) {
+        if (enabled == (gameCanvas != null)) {
+            return;
+        }
+
+        if (enabled) {
+            gameCanvas = new GameCanvas(this::paintScene);
+            gameCanvas.setFrameRate(frameRateMode, maxFramesPerSecond);
+
+            // Keys still go to the panel, which keeps the focus
+            gameCanvas.setFocusable(false);
+            gameCanvas.addMouseListener(mouseHandler);
+            canvasTilesView = tilesView != null
+                    ? tilesView.createResized(tilesView.getWidth(), tilesView.getHeight())
+                    : null;
+            add(gameCanvas, BorderLayout.CENTER);
+        } else {
+            remove(gameCanvas);
+            gameCanvas = null;
+            canvasTilesView = null;
+        }
+
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Set how the frames of active rendering are paced
+     *
+     * @param maxFramesPerSecond frames per second of {@link FrameRateMode#CAPPED}
+     */
+    public void setFrameRate(FrameRateMode frameRateMode, int maxFramesPerSecond) {
+        this.frameRateMode = frameRateMode;
+        this.maxFramesPerSecond = maxFramesPerSecond;
+        if (gameCanvas != null) {
+            gameCanvas.setFrameRate(frameRateMode, maxFramesPerSecond);
+        }
+    }
+
+    /**
+     * With active rendering the canvas draws whole frames, so a repaint of any part of the panel posts a new scene.
+     * A scene copies the whole board, so it is posted once after the event that asked for the repaints
+     */
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+        if (gameCanvas == null) {
+            super.repaint(tm, x, y, width, height);
+        } else if (!isScenePending) {
+            isScenePending = true;
+            SwingUtilities.invokeLater(this::postScene);
+        }
+    }
+
+    private void postScene() {
+        isScenePending = false;
+        if (gameCanvas != null && gameLogic != null && canvasTilesView != null) {
+            gameCanvas.post(new GameCanvas.Scene(canvasTilesView, tilesView.getWidth(), tilesView.getHeight(),
+                    BoardShape.tilesOf(gameLogic), gameLogic.getEmptyIndex(), hintIndex, isPlaying,
+                    slideFrom, slideId, gameInfoView.getElapsedTime(), gameInfoView.getStep()));
+        }
     }
 
     /**
      * Set game board size.
-     * Used when game frame resize
+     * Used when game frame resize, the last frame is scaled to the new size until the resizing stops,
+     * then the tiles are rebuilt in the background
      *
      * @param width  width of client frame
      * @param height height of client frame
      */
     public void setGameBoardSize(int width, int height) {
-        tilesView.setWidth(width - MARGIN_LEFT - MARGIN_RIGHT);
-        tilesView.setHeight(height - MARGIN_TOP - MARGIN_BOTTOM);
+        setBoardSize(width, height);
+        if (tilesView == null) {
+            return;
+        }
+
+        resizeId++;
+        if (tilesView.getWidth() <= 0 || tilesView.getHeight() <= 0) {
+
+            // There is no frame to scale before the panel has been shown
+            resizeTimer.stop();
+            tilesView.setWidth(boardWidth);
+            tilesView.setHeight(boardHeight);
+        } else if (boardWidth == tilesView.getWidth() && boardHeight == tilesView.getHeight()) {
+            resizeTimer.stop();
+        } else {
+            resizeTimer.restart();
+        }
         repaint();
     }
 
+    private void setBoardSize(int width, int height) {
+        boardWidth = width - MARGIN_LEFT - MARGIN_RIGHT;
+        boardHeight = height - MARGIN_TOP - MARGIN_BOTTOM;
+    }
+
+    /**
+     * Build tiles views of the new size on a background thread, and use them once they are ready
+     * if the size hasn't changed meanwhile
+     */
+    private void rebuildTilesViews() {
+        int id = resizeId;
+        var currentTilesView = tilesView;
+        var currentCanvasTilesView = canvasTilesView;
+        int width = boardWidth;
+        int height = boardHeight;
+        var configuration = getGraphicsConfiguration();
+        new SwingWorker<TilesView[], Void>() {
+            @Override
+            protected TilesView[] doInBackground() {
+                var views = new TilesView[2];
+                views[0] = currentTilesView.createResized(width, height);
+                views[0].prepare(configuration);
+                if (currentCanvasTilesView != null) {
+                    views[1] = currentCanvasTilesView.createResized(width, height);
+                    views[1].prepare(configuration);
+                }
+
+                return views;
+            }
+
+            @Override
+            protected void done() {
+                if (id != resizeId || currentTilesView != tilesView) {
+                    return;
+                }
+
+                try {
+                    var views = get();
+                    tilesView = views[0];
+                    if (gameCanvas != null && currentCanvasTilesView == canvasTilesView) {
+                        canvasTilesView = views[1];
+                    }
+                    previewFrame = null;
+                    repaint();
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Active rendering draws the tiles view at its size until the tiles of the new size are ready
+     */
+    private int getShownBoardWidth() {
+        return gameCanvas != null ? tilesView.getWidth() : boardWidth;
+    }
+
+    private int getShownBoardHeight() {
+        return gameCanvas != null ? tilesView.getHeight() : boardHeight;
+    }
+
+    /**
+     * Check if the tiles view is being rebuilt for a new size
+     */
+    private boolean isResizing() {
+        return boardWidth != tilesView.getWidth() || boardHeight != tilesView.getHeight();
+    }
+
     /**
      * Create new game
      */
     public void newGame(GameOption gameOption) {
-        gameLogic = new GameLogic(gameOption.row(), gameOption.column(), gameOption.emptyPosition());
+        newGame(gameOption, null);
+    }
+
+    /**
+     * Create new game on a board made beforehand
+     *
+     * @param board board matching the size of the game option, or null to shuffle a new one
+     */
+    public void newGame(GameOption gameOption, GameLogic board) {
+        solutionPlayer.stop();
+        if (board != null) {
+            gameLogic = board;
+        } else {
+            gameLogic = new GameLogic(gameOption.row(), gameOption.column(), gameOption.emptyPosition());
+            gameLogic.createGameBoard();
+        }
+        this.gameOption = gameOption;
         tilesView = createTitleView(gameOption);
+        if (gameCanvas != null) {
+            canvasTilesView = tilesView.createResized(tilesView.getWidth(), tilesView.getHeight());
+        }
+        previewFrame = null;
 
         // Reset game information
         gameInfoView.reset();
         gameInfoView.startTimer();
 
         // Start game
-        gameLogic.createGameBoard();
         isPlaying = true;
+        hintIndex = -1;
+        stopSlide();
+        hintEngine.restart(gameLogic);
+
+        // A new game is shown at its size straight away
+        resizeId++;
+        resizeTimer.stop();
+        setBoardSize(getWidth(), getHeight());
+        tilesView.setWidth(boardWidth);
+        tilesView.setHeight(boardHeight);
+        repaint();
+    }
+
+    /**
+     * Get the id of the current game board, null if it has no id
+     */
+    public PuzzleId getPuzzleId() {
+        return gameLogic.getPuzzleId();
+    }
+
+    /**
+     * Take the last move back
+     */
+    public void undo() {
+        solutionPlayer.stop();
+        int previousEmptyIndex = gameLogic.getEmptyIndex();
+        if (isPlaying && gameLogic.undo()) {
+            gameInfoView.decreaseStep();
+            repaintHint();
+            hintIndex = -1;
+            startSlide(previousEmptyIndex);
+            hintEngine.restart(gameLogic);
+            repaintCells(previousEmptyIndex, gameLogic.getEmptyIndex());
+            repaintStep();
+        }
+    }
+
+    /**
+     * Make the last undone move again
+     */
+    public void redo() {
+        solutionPlayer.stop();
+        int previousEmptyIndex = gameLogic.getEmptyIndex();
+        if (isPlaying && gameLogic.redo()) {
+            updateAfterMoving(previousEmptyIndex);
+        }
+    }
+
+    /**
+     * Start playing the moves of a solution, or stop if they are being played
+     */
+    public void toggleAutoSolve() {
+        if (solutionPlayer.isPlaying()) {
+            solutionPlayer.stop();
+            hintEngine.restart(gameLogic);
+        } else if (isPlaying) {
+            repaintHint();
+            hintIndex = -1;
+            hintEngine.cancel();
+            solutionPlayer.start(gameLogic);
+        }
+    }
 
-        setGameBoardSize(getWidth(), getHeight());
+    /**
+     * Set how many moves are played per second by auto solve
+     */
+    public void setAutoSolveSpeed(int movesPerSecond) {
+        solutionPlayer.setMovesPerSecond(movesPerSecond);
+    }
+
+    /**
+     * Highlight the tile that should be moved next
+     */
+    public void showHint() {
+        if (!isPlaying) {
+            return;
+        }
+
+        hintEngine.requestHint(direction -> {
+            if (direction != null) {
+                repaintHint();
+                int emptyIndex = gameLogic.getEmptyIndex();
+                hintIndex = emptyIndex + direction.stepX() + direction.stepY() * gameLogic.getRow();
+                repaintHint();
+            }
+        });
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        if (gameCanvas != null) {
+            return;
+        }
+
+        if (PRINT_PAINT_STATISTICS) {
+            var clip = g.getClipBounds();
+            paintedPixels += (long) clip.width * clip.height;
+        }
+
+        if (isResizing()) {
+            paintPreview(g);
+        } else {
+            paintBoard(g);
+        }
+
+        // Draw game information
+        paintInformation(g, boardWidth, boardHeight);
+    }
+
+    /**
+     * Draw the game board at the size of the tiles view, only the tiles inside the clip area
+     */
+    private void paintBoard(Graphics g) {
         if (isPlaying) {
 
             // Draw game board background
             g.setColor(Color.WHITE);
             g.fillRect(MARGIN_LEFT, MARGIN_TOP, tilesView.getWidth(), tilesView.getHeight() + 2);
 
-            // Draw tiles
-            for (byte i = 0; i < gameLogic.getRow(); i++) {
-                for (byte j = 0; j < gameLogic.getColumn(); j++) {
-                    if (gameLogic.getEmptyTilePosition().x() == i && gameLogic.getEmptyTilePosition().y() == j) {
+            // Draw tiles, only the ones inside the clip area so that large boards are painted quickly
+            var clip = g.getClipBounds();
+            int tileWidth = Math.max(tilesView.getTileWidth(), 1);
+            int tileHeight = Math.max(tilesView.getTileHeight(), 1);
+            int firstX = Math.max((clip.x - MARGIN_LEFT) / tileWidth, 0);
+            int lastX = Math.min((clip.x + clip.width - MARGIN_LEFT) / tileWidth, gameLogic.getRow() - 1);
+            int firstY = Math.max((clip.y - MARGIN_TOP) / tileHeight, 0);
+            int lastY = Math.min((clip.y + clip.height - MARGIN_TOP) / tileHeight, gameLogic.getColumn() - 1);
+            int row = gameLogic.getRow();
+            int emptyIndex = gameLogic.getEmptyIndex();
+            for (int i = firstX; i <= lastX; i++) {
+                for (int j = firstY; j <= lastY; j++) {
+                    int index = i + j * row;
+                    if (index == emptyIndex) {
                         continue;
                     }
 
-                    tilesView.drawOne(g,
-                            MARGIN_LEFT,
-                            MARGIN_TOP,
-                            i,
-                            j,
-                            gameLogic.getAt(i, j).x(),
-                            gameLogic.getAt(i, j).y());
+                    int tile = gameLogic.getTileAt(index);
+                    tilesView.drawOne(g, MARGIN_LEFT, MARGIN_TOP, i, j, tile % row, tile / row);
                 }
             }
+
+            paintHint(g, tilesView, hintIndex);
         } else {
             // Draw finished game board
             tilesView.drawAll(g, MARGIN_LEFT, MARGIN_TOP);
         }
+    }
 
-        // Draw game information
-        paintInformation(g);
+    /**
+     * Draw the last frame of the game board scaled to its new size. Scaling with the nearest pixels
+     * is fast enough to follow the resizing of the window, the tiles are rebuilt once it stops
+     */
+    private void paintPreview(Graphics g) {
+        int width = tilesView.getWidth();
+        int height = tilesView.getHeight();
+        if (width <= 0 || height <= 0 || boardWidth <= 0 || boardHeight <= 0) {
+            return;
+        }
+
+        if (previewFrame == null) {
+            var configuration = getGraphicsConfiguration();
+            previewFrame = configuration != null
+                    ? configuration.createCompatibleImage(width, height)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            var graphics = previewFrame.createGraphics();
+            graphics.setFont(getFont());
+            graphics.translate(-MARGIN_LEFT, -MARGIN_TOP);
+            graphics.clipRect(MARGIN_LEFT, MARGIN_TOP, width, height);
+            paintBoard(graphics);
+            graphics.dispose();
+        }
+
+        ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.drawImage(previewFrame, MARGIN_LEFT, MARGIN_TOP, boardWidth, boardHeight, null);
+    }
+
+    /**
+     * Draw a whole frame of a scene for active rendering, called on the render thread
+     *
+     * @param slideProgress how far the tiles of the last move have gone, from 0 to 1
+     */
+    private void paintScene(Graphics g, GameCanvas.Scene scene, double slideProgress) {
+        var tilesView = scene.tilesView();
+        tilesView.setWidth(scene.boardWidth());
+        tilesView.setHeight(scene.boardHeight());
+        if (!scene.isPlaying()) {
+            tilesView.drawAll(g, MARGIN_LEFT, MARGIN_TOP);
+            paintInformation(g, scene);
+            return;
+        }
+
+        g.setColor(Color.WHITE);
+        g.fillRect(MARGIN_LEFT, MARGIN_TOP, tilesView.getWidth(), tilesView.getHeight() + 2);
+
+        // The tiles of the last move are on the cells from the previous cell of the empty tile up to its cell,
+        // each one comes from the next cell towards the empty tile
+        int row = tilesView.getRow();
+        int tileWidth = tilesView.getTileWidth();
+        int tileHeight = tilesView.getTileHeight();
+        int emptyIndex = scene.emptyIndex();
+        int slideFrom = scene.slideFrom() >= 0 && slideProgress < 1 ? scene.slideFrom() : emptyIndex;
+        int firstX = Math.min(slideFrom % row, emptyIndex % row);
+        int lastX = Math.max(slideFrom % row, emptyIndex % row);
+        int firstY = Math.min(slideFrom / row, emptyIndex / row);
+        int lastY = Math.max(slideFrom / row, emptyIndex / row);
+        int stepX = Integer.signum(emptyIndex % row - slideFrom % row);
+        int stepY = Integer.signum(emptyIndex / row - slideFrom / row);
+        int offsetX = (int) Math.round((1 - slideProgress) * stepX * tileWidth);
+        int offsetY = (int) Math.round((1 - slideProgress) * stepY * tileHeight);
+        var tiles = scene.tiles();
+        for (int index = 0; index < tiles.length; index++) {
+            if (index == emptyIndex) {
+                continue;
+            }
+
+            int x = index % row;
+            int y = index / row;
+            boolean isSliding = x >= firstX && x <= lastX && y >= firstY && y <= lastY;
+            int tile = tiles[index];
+            tilesView.drawOne(g, MARGIN_LEFT + (isSliding ? offsetX : 0), MARGIN_TOP + (isSliding ? offsetY : 0),
+                    x, y, tile % row, tile / row);
+        }
+
+        paintHint(g, tilesView, scene.hintIndex());
+        paintInformation(g, scene);
     }
 
     private TilesView createTitleView(GameOption gameOption) {
@@ -123,19 +564,172 @@ public class GamePanel extends JPanel {
         return new NumberTilesView(gameOption.row(), gameOption.column(), this.getWidth(), this.getHeight());
     }
 
-    private void paintInformation(Graphics g) {
-        int y1 = MARGIN_TOP + tilesView.getHeight();
-        int y2 = y1 + MARGIN_BOTTOM;
-        gameInfoView.paint(g, MARGIN_LEFT + tilesView.getWidth() + MARGIN_RIGHT, y1, y2);
+    private static void paintHint(Graphics g, TilesView tilesView, int hintIndex) {
+        if (hintIndex < 0) {
+            return;
+        }
+
+        int row = tilesView.getRow();
+        int tileWidth = tilesView.getTileWidth();
+        int tileHeight = tilesView.getTileHeight();
+        g.setColor(HINT_COLOR);
+        for (int i = 0; i < HINT_THICKNESS; i++) {
+            g.drawRect(MARGIN_LEFT + hintIndex % row * tileWidth + i,
+                    MARGIN_TOP + hintIndex / row * tileHeight + i,
+                    tileWidth - 1 - 2 * i,
+                    tileHeight - 1 - 2 * i);
+        }
+    }
+
+    private void paintInformation(Graphics g, int boardWidth, int boardHeight) {
+        gameInfoView.paint(g, getInformationWidth(boardWidth), getInformationTop(boardHeight),
+                getInformationBottom(boardHeight));
     }
 
-    private void updateAfterMoving() {
+    /**
+     * Draw the game information copied into a scene, the render thread doesn't read the game information view
+     */
+    private void paintInformation(Graphics g, GameCanvas.Scene scene) {
+        gameInfoView.paint(g, getInformationWidth(scene.boardWidth()), getInformationTop(scene.boardHeight()),
+                getInformationBottom(scene.boardHeight()), scene.elapsedTime(), scene.step());
+    }
+
+    private static int getInformationWidth(int boardWidth) {
+        return MARGIN_LEFT + boardWidth + MARGIN_RIGHT;
+    }
+
+    private static int getInformationTop(int boardHeight) {
+        return MARGIN_TOP + boardHeight;
+    }
+
+    private static int getInformationBottom(int boardHeight) {
+        return getInformationTop(boardHeight) + MARGIN_BOTTOM;
+    }
+
+    /**
+     * Repaint the cells of a rectangle in cell coordinates
+     */
+    private void repaintCells(Rectangle cells) {
+        repaintCells(cells.x, cells.y, cells.width, cells.height);
+    }
+
+    /**
+     * Repaint the cells of a rectangle in cell coordinates, given by its fields so that a move allocates nothing
+     */
+    private void repaintCells(int x, int y, int width, int height) {
+
+        // The last frame is scaled while resizing, it has to be drawn again
+        if (isResizing()) {
+            previewFrame = null;
+            repaint();
+            return;
+        }
+
+        int tileWidth = tilesView.getTileWidth();
+        int tileHeight = tilesView.getTileHeight();
+        repaint(MARGIN_LEFT + x * tileWidth, MARGIN_TOP + y * tileHeight, width * tileWidth, height * tileHeight);
+    }
+
+    /**
+     * Repaint the rectangle of cells between two cells, the two cells swapped by a move of the player
+     */
+    private void repaintCells(int fromIndex, int toIndex) {
+        int row = gameLogic.getRow();
+        int x1 = Math.min(fromIndex % row, toIndex % row);
+        int x2 = Math.max(fromIndex % row, toIndex % row);
+        int y1 = Math.min(fromIndex / row, toIndex / row);
+        int y2 = Math.max(fromIndex / row, toIndex / row);
+        repaintCells(x1, y1, x2 - x1 + 1, y2 - y1 + 1);
+    }
+
+    private void repaintHint() {
+        if (hintIndex >= 0) {
+            repaintCells(hintIndex, hintIndex);
+        }
+    }
+
+    /**
+     * Animate the tiles moved from the previous cell of the empty tile to its current cell
+     */
+    private void startSlide(int previousEmptyIndex) {
+        slideFrom = previousEmptyIndex;
+        slideId++;
+    }
+
+    /**
+     * Show the next change without animation
+     */
+    private void stopSlide() {
+        slideFrom = -1;
+        slideId++;
+    }
+
+    private void repaintStep() {
+        repaint(gameInfoView.getStepBounds(getInformationWidth(boardWidth), getInformationTop(boardHeight),
+                getInformationBottom(boardHeight)));
+    }
+
+    /**
+     * Update after a move of the player, only the moved tiles and the step are repainted
+     *
+     * @param previousEmptyIndex cell of the empty tile before the move
+     */
+    private void updateAfterMoving(int previousEmptyIndex) {
+
+        // A move of the player makes the solution being played wrong
+        solutionPlayer.stop();
         gameInfoView.increaseStep();
+        repaintHint();
+        hintIndex = -1;
+        startSlide(previousEmptyIndex);
         if (gameLogic.hasFinished()) {
-            gameInfoView.stopTimer();
-            isPlaying = false;
+            finishGame();
+        } else {
+            hintEngine.restart(gameLogic);
+            repaintCells(previousEmptyIndex, gameLogic.getEmptyIndex());
+            repaintStep();
         }
+    }
 
+    /**
+     * Update once per frame of auto solve, however many moves have been played
+     */
+    private void updateAfterAutoSolving(int moveCount, Rectangle changedCells) {
+        gameInfoView.increaseStep(moveCount);
+
+        // A single move is animated, the moves of a faster frame just show where the tiles end up
+        if (moveCount == 1) {
+            int row = gameLogic.getRow();
+            int emptyIndex = gameLogic.getEmptyIndex();
+            int firstIndex = changedCells.x + changedCells.y * row;
+            int lastIndex = changedCells.x + changedCells.width - 1 + (changedCells.y + changedCells.height - 1) * row;
+            startSlide(emptyIndex == firstIndex ? lastIndex : firstIndex);
+        } else {
+            stopSlide();
+        }
+
+        if (gameLogic.hasFinished()) {
+            solutionPlayer.stop();
+            finishGame();
+        } else {
+            if (!solutionPlayer.isPlaying()) {
+                hintEngine.restart(gameLogic);
+            }
+            if (!changedCells.isEmpty()) {
+                repaintCells(changedCells);
+                repaintStep();
+            }
+        }
+    }
+
+    /**
+     * The finished board is drawn whole, with the empty tile
+     */
+    private void finishGame() {
+        gameInfoView.stopTimer();
+        isPlaying = false;
+        hintEngine.cancel();
+        previewFrame = null;
         repaint();
     }
 
@@ -146,28 +740,14 @@ public class GamePanel extends JPanel {
 
         @Override
         public void mouseClicked(MouseEvent e) {
-            var mousePosition = getTileFromMousePos(e.getX(), e.getY());
-            if (mousePosition != null && gameLogic.moveEmptyPositionTo(mousePosition)) {
-                updateAfterMoving();
-            }
-        }
-
-        /**
-         * Get tile from mouse position
-         *
-         * @param mouseX horizontal mouse position
-         * @param mouseY vertical mouse position
-         * @return tile where mouse is (null if mouse is outside game board)
-         */
-        private TilePosition getTileFromMousePos(int mouseX, int mouseY) {
-            int x = (mouseX - MARGIN_LEFT) * gameLogic.getRow() / tilesView.getWidth();
-            int y = (mouseY - MARGIN_TOP) * gameLogic.getColumn() / tilesView.getHeight();
 
-            if (x < 0 || x > gameLogic.getRow() - 1 || y < 0 || y > gameLogic.getColumn() - 1) {
-                return null;
+            // Find the tile where the mouse is, a click outside game board is ignored by moveEmptyPositionTo
+            int x = Math.floorDiv((e.getX() - MARGIN_LEFT) * gameLogic.getRow(), getShownBoardWidth());
+            int y = Math.floorDiv((e.getY() - MARGIN_TOP) * gameLogic.getColumn(), getShownBoardHeight());
+            int previousEmptyIndex = gameLogic.getEmptyIndex();
+            if (gameLogic.moveEmptyPositionTo(x, y)) {
+                updateAfterMoving(previousEmptyIndex);
             }
-
-            return new TilePosition((byte) x, (byte) y);
         }
     }
 
@@ -178,6 +758,7 @@ public class GamePanel extends JPanel {
 
         @Override
         public void keyPressed(KeyEvent e) {
+            int previousEmptyIndex = gameLogic.getEmptyIndex();
             var hasMoved = switch (e.getKeyCode()) {
                 case KeyEvent.VK_LEFT -> gameLogic.moveEmptyPositionHorizontally(1);
                 case KeyEvent.VK_RIGHT -> gameLogic.moveEmptyPositionHorizontally(-1);
@@ -186,7 +767,7 @@ public class GamePanel extends JPanel {
                 default -> false;
             };
             if (hasMoved) {
-                updateAfterMoving();
+                updateAfterMoving(previousEmptyIndex);
             }
         }
     }
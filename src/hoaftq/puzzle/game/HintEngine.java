@@ -0,0 +1,246 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.game;
+
+import hoaftq.puzzle.solver.BoardShape;
+import hoaftq.puzzle.solver.ConstructiveSolver;
+import hoaftq.puzzle.solver.HeuristicType;
+import hoaftq.puzzle.solver.IdaStarSolver;
+import hoaftq.puzzle.solver.Solution;
+import hoaftq.puzzle.solver.Solver;
+import hoaftq.puzzle.solver.exact.ExactDistanceTables;
+import hoaftq.puzzle.solver.exact.ExactSolver;
+import hoaftq.puzzle.solver.pdb.PatternDatabases;
+
+import javax.swing.*;
+import java.util.function.Consumer;
+
+/**
+ * Compute the next best move of the empty tile in the background.
+ * The computation starts as soon as the game board changes, so a hint is usually ready before it is requested.
+ * A single worker thread does the computations, a restart only copies the board into a buffer reused between moves
+ * and wakes the worker up, so it doesn't allocate on the event dispatch thread.
+ * All the methods must be called on the event dispatch thread, the callbacks are called on it too
+ */
+public class HintEngine {
+
+    /**
+     * Maximum number of nodes the solver expands before a greedy move is used as the hint
+     */
+    private static final long NODE_LIMIT = 2_000_000;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Heuristic of the solver, null to choose the strongest one available for the board.
+     * Boards small enough for an exact distance table are looked up instead of searched in that case,
+     * and boards too large for the pattern databases are solved by the constructive solver
+     */
+    private final HeuristicType heuristicType;
+
+    /**
+     * Increased whenever the game board changes, so results of the previous boards are ignored
+     */
+    private long generation;
+
+    private boolean isComputing;
+    private Direction hint;
+    private boolean hasHint;
+    private Consumer<Direction> pendingCallback;
+    private Thread worker;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private GameLogic pendingBoard;
+    private boolean hasPendingBoard;
+    private long pendingGeneration;
+    private Solver runningSolver;
+
+    public HintEngine() {
+        this(null);
+    }
+
+    /**
+     * Create a hint engine whose solver uses a given heuristic
+     */
+    public HintEngine(HeuristicType heuristicType) {
+        this.heuristicType = heuristicType;
+    }
+
+    /**
+     * Cancel the current computation and start a new one for the current game board
+     */
+    public void restart(GameLogic gameLogic) {
+        cancel();
+
+        // The solver works on a copy so that the player can keep moving
+        synchronized (lock) {
+            if (pendingBoard != null && pendingBoard.hasSameShape(gameLogic)) {
+                pendingBoard.copyBoard(gameLogic);
+            } else {
+                pendingBoard = new GameLogic(gameLogic);
+            }
+            pendingGeneration = generation;
+            hasPendingBoard = true;
+            lock.notifyAll();
+        }
+        isComputing = true;
+
+        if (worker == null) {
+            worker = Thread.ofPlatform().daemon().name("hint-engine").start(this::work);
+        }
+    }
+
+    /**
+     * Cancel the current computation, the pending request is dropped
+     */
+    public void cancel() {
+        generation++;
+        synchronized (lock) {
+            hasPendingBoard = false;
+            if (runningSolver != null) {
+                runningSolver.cancel();
+                runningSolver = null;
+            }
+        }
+        isComputing = false;
+        hint = null;
+        hasHint = false;
+        pendingCallback = null;
+    }
+
+    /**
+     * Request a hint for the current game board.
+     * The callback is called right away if the hint is ready, otherwise when it has been computed.
+     * It receives the direction to move the empty tile, null if the game board has been finished
+     */
+    public void requestHint(Consumer<Direction> callback) {
+        if (!isComputing || hasHint) {
+            callback.accept(hint);
+        } else {
+            pendingCallback = callback;
+        }
+    }
+
+    /**
+     * Compute the hints of the boards given by restart, on the worker thread
+     */
+    private void work() {
+        while (true) {
+            GameLogic board;
+            long currentGeneration;
+            HeuristicType currentHeuristicType;
+            Solver currentSolver;
+            synchronized (lock) {
+                while (!hasPendingBoard) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                hasPendingBoard = false;
+                board = new GameLogic(pendingBoard);
+                currentGeneration = pendingGeneration;
+
+                var shape = BoardShape.of(board);
+                currentHeuristicType = heuristicType != null ? heuristicType
+                        : PatternDatabases.isSupported(shape) ? HeuristicType.PATTERN_DATABASE
+                        : HeuristicType.MANHATTAN_LINEAR_CONFLICT;
+                if (heuristicType == null && ExactDistanceTables.isSupported(shape)) {
+                    currentSolver = new ExactSolver();
+                } else if (heuristicType == null && !PatternDatabases.isSupported(shape)) {
+                    currentSolver = new ConstructiveSolver();
+                } else {
+                    currentSolver = new IdaStarSolver(currentHeuristicType, NODE_LIMIT);
+                }
+                runningSolver = currentSolver;
+            }
+
+            try {
+                compute(currentSolver, board, currentHeuristicType, currentGeneration);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+
+            synchronized (lock) {
+                if (runningSolver == currentSolver) {
+                    runningSolver = null;
+                }
+            }
+        }
+    }
+
+    private void compute(Solver solver, GameLogic board, HeuristicType heuristicType, long resultGeneration) {
+        if (solver instanceof ConstructiveSolver constructiveSolver) {
+            var direction = findFirstMove(constructiveSolver, board);
+            SwingUtilities.invokeLater(() -> publish(resultGeneration, direction));
+            return;
+        }
+
+        var solution = solver.solve(board);
+        Direction direction;
+        if (solution.isSolved()) {
+            direction = solution.moves().isEmpty() ? null : solution.moves().get(0);
+        } else if (solution.status() == Solution.Status.NODE_LIMIT_REACHED) {
+            direction = findGreedyMove(board, heuristicType);
+        } else {
+            return;
+        }
+
+        SwingUtilities.invokeLater(() -> publish(resultGeneration, direction));
+    }
+
+    private void publish(long resultGeneration, Direction direction) {
+        if (resultGeneration != generation) {
+            return;
+        }
+
+        hint = direction;
+        hasHint = true;
+        if (pendingCallback != null) {
+            var callback = pendingCallback;
+            pendingCallback = null;
+            callback.accept(direction);
+        }
+    }
+
+    /**
+     * Get the first move of the constructive solver, it is stopped right after so that the whole solution of a
+     * large board isn't computed
+     */
+    private static Direction findFirstMove(ConstructiveSolver solver, GameLogic board) {
+        var firstMove = new Direction[1];
+        solver.solve(board, direction -> {
+            if (firstMove[0] == null) {
+                firstMove[0] = direction;
+                solver.cancel();
+            }
+        });
+
+        return firstMove[0];
+    }
+
+    /**
+     * Find the move leading to the board with the smallest estimate, used when the board is too hard to solve
+     */
+    private static Direction findGreedyMove(GameLogic board, HeuristicType heuristicType) {
+        var heuristic = heuristicType.create(BoardShape.of(board));
+        Direction bestDirection = null;
+        int bestEstimate = Integer.MAX_VALUE;
+        for (var direction : DIRECTIONS) {
+            if (board.moveEmptyPosition(direction)) {
+                int estimate = heuristic.estimate(BoardShape.tilesOf(board));
+                if (estimate < bestEstimate) {
+                    bestEstimate = estimate;
+                    bestDirection = direction;
+                }
+                board.undo();
+            }
+        }
+
+        return bestDirection;
+    }
+}
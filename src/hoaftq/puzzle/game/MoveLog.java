@@ -0,0 +1,99 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.game;
+
+import java.util.Arrays;
+
+/**
+ * Log of the moves of the empty tile used to undo and redo them.
+ * A move only needs 2 bits for its direction, so 32 moves are packed into a long
+ */
+public class MoveLog {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int MOVES_PER_WORD = 32;
+
+    private long[] words = new long[4];
+
+    /**
+     * Number of moves that have been made and not undone
+     */
+    private int size;
+
+    /**
+     * Number of moves recorded, the ones after size can be redone
+     */
+    private int limit;
+
+    public MoveLog() {
+    }
+
+    public MoveLog(MoveLog other) {
+        words = other.words.clone();
+        size = other.size;
+        limit = other.limit;
+    }
+
+    /**
+     * Record a new move, the moves that could be redone are discarded
+     */
+    public void append(Direction direction) {
+        if (size / MOVES_PER_WORD == words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+
+        int word = size / MOVES_PER_WORD;
+        int shift = (size % MOVES_PER_WORD) * 2;
+        words[word] = (words[word] & ~(3L << shift)) | ((long) direction.ordinal() << shift);
+        size++;
+        limit = size;
+    }
+
+    /**
+     * Take the last move back
+     *
+     * @return direction of the move to revert, null if there is no move
+     */
+    public Direction undo() {
+        if (size == 0) {
+            return null;
+        }
+
+        return get(--size);
+    }
+
+    /**
+     * Take the last undone move again
+     *
+     * @return direction of the move to make, null if there is no undone move
+     */
+    public Direction redo() {
+        if (size == limit) {
+            return null;
+        }
+
+        return get(size++);
+    }
+
+    public boolean canUndo() {
+        return size > 0;
+    }
+
+    public boolean canRedo() {
+        return size < limit;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+        limit = 0;
+    }
+
+    private Direction get(int index) {
+        int shift = (index % MOVES_PER_WORD) * 2;
+        return DIRECTIONS[(int) (words[index / MOVES_PER_WORD] >>> shift) & 3];
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.game;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Everything needed to create a board again: its size, the corner of the empty tile, the shuffle mode and the
+ * seed of the random numbers.
+ * <p>
+ * The text form is 4 base 32 characters for the size, the corner and the mode, followed by the seed in base 32.
+ * Seeds chosen by the game have {@link #RANDOM_SEED_BITS} bits, so their ids are 12 characters long. The number of
+ * moves of {@link ShuffleMode#RANDOM_MOVES} is saved above those bits
+ *
+ * @param row           number of horizontal cells, 2 to 256
+ * @param column        number of vertical cells, 2 to 256
+ * @param emptyPosition corner the empty tile belongs to
+ * @param shuffleMode   how the tiles are shuffled
+ * @param seed          seed of the random numbers used to shuffle the tiles
+ */
+public record PuzzleId(int row, int column, EmptyTilePosition emptyPosition, ShuffleMode shuffleMode, long seed) {
+
+    /**
+     * Crockford's base 32 digits, which leave out the letters that look like digits
+     */
+    private static final String DIGITS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int HEADER_LENGTH = 4;
+    private static final int MIN_SIZE = 2;
+    private static final int MAX_SIZE = 256;
+
+    public static final int RANDOM_SEED_BITS = 40;
+
+    public PuzzleId {
+        if (row < MIN_SIZE || row > MAX_SIZE || column < MIN_SIZE || column > MAX_SIZE) {
+            throw new IllegalArgumentException("Invalid board size " + row + "x" + column + ".");
+        }
+    }
+
+    /**
+     * Choose a seed for a new board
+     */
+    public static long randomSeed() {
+        return ThreadLocalRandom.current().nextLong(1L << RANDOM_SEED_BITS);
+    }
+
+    /**
+     * Make the seed of a board of {@link ShuffleMode#RANDOM_MOVES}
+     *
+     * @param moveCount number of random moves
+     * @param seed      seed of the random numbers, of {@link #RANDOM_SEED_BITS} bits
+     */
+    public static long randomMovesSeed(int moveCount, long seed) {
+        return (long) moveCount << RANDOM_SEED_BITS | seed & ((1L << RANDOM_SEED_BITS) - 1);
+    }
+
+    /**
+     * Get the number of random moves saved in a seed of {@link ShuffleMode#RANDOM_MOVES}
+     */
+    static int randomMoveCount(long seed) {
+        return (int) Math.min(seed >>> RANDOM_SEED_BITS, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create the board of this id
+     */
+    public GameLogic createBoard() {
+        var gameLogic = new GameLogic(row, column, emptyPosition);
+        gameLogic.createGameBoard(shuffleMode, seed);
+        return gameLogic;
+    }
+
+    /**
+     * Read an id from its text form, the case doesn't matter
+     *
+     * @throws IllegalArgumentException if the text is not a valid id
+     */
+    public static PuzzleId parse(String text) {
+        var id = text.strip().toUpperCase();
+        if (id.length() <= HEADER_LENGTH || id.length() > HEADER_LENGTH + 13) {
+            throw new IllegalArgumentException("A puzzle ID has 5 to 17 characters.");
+        }
+
+        // The lowest bit of the header is the lowest bit of the mode, the highest bit is its other bit
+        long header = decode(id, 0, HEADER_LENGTH);
+        int row = (int) ((header >>> 11) & 0xFF) + 1;
+        int column = (int) ((header >>> 3) & 0xFF) + 1;
+        var emptyPosition = EmptyTilePosition.values()[(int) (header >>> 1) & 3];
+        int mode = (int) (header & 1 | header >>> 18 & 2);
+        if (mode >= ShuffleMode.values().length) {
+            throw new IllegalArgumentException("Invalid shuffle mode in the puzzle ID.");
+        }
+        var shuffleMode = ShuffleMode.values()[mode];
+
+        // 13 digits hold 65 bits, the first one can only have the highest 4 bits of the seed
+        if (id.length() == HEADER_LENGTH + 13 && DIGITS.indexOf(id.charAt(HEADER_LENGTH)) >= 16) {
+            throw new IllegalArgumentException("The seed of the puzzle ID is too large.");
+        }
+        long seed = decode(id, HEADER_LENGTH, id.length());
+
+        return new PuzzleId(row, column, emptyPosition, shuffleMode, seed);
+    }
+
+    private static long decode(String text, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = DIGITS.indexOf(text.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid character '" + text.charAt(i) + "' in the puzzle ID.");
+            }
+            value = (value << 5) | digit;
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        long header = ((long) (shuffleMode.ordinal() >>> 1) << 19) | ((long) (row - 1) << 11)
+                      | ((long) (column - 1) << 3) | ((long) emptyPosition.ordinal() << 1)
+                      | (shuffleMode.ordinal() & 1);
+        var text = new StringBuilder();
+        for (int shift = (HEADER_LENGTH - 1) * 5; shift >= 0; shift -= 5) {
+            text.append(DIGITS.charAt((int) (header >>> shift) & 31));
+        }
+
+        // The seed has no leading zeros, except for a seed of 0
+        int shift = 60;
+        while (shift > 0 && seed >>> shift == 0) {
+            shift -= 5;
+        }
+        for (; shift >= 0; shift -= 5) {
+            text.append(DIGITS.charAt((int) (seed >>> shift) & 31));
+        }
+
+        return text.toString();
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.game;
+
+/**
+ * How tiles are shuffled when a game board is created
+ */
+public enum ShuffleMode {
+
+    /**
+     * Uniformly random solvable board built in linear time
+     */
+    RANDOM_PERMUTATION,
+
+    /**
+     * Move the empty tile randomly to every tile in a random order, then back to its original cell
+     */
+    RANDOM_WALK,
+
+    /**
+     * Move the empty tile randomly from the finished board, never undoing the previous move. The number of moves is
+     * taken from the seed, see {@link PuzzleId#randomMovesSeed}, which gives boards of a chosen difficulty an id
+     */
+    RANDOM_MOVES
+}
@@ -0,0 +1,250 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.game;
+
+import hoaftq.puzzle.solver.BoardShape;
+import hoaftq.puzzle.solver.ConstructiveSolver;
+import hoaftq.puzzle.solver.HeuristicType;
+import hoaftq.puzzle.solver.IdaStarSolver;
+import hoaftq.puzzle.solver.Solver;
+import hoaftq.puzzle.solver.exact.ExactDistanceTables;
+import hoaftq.puzzle.solver.exact.ExactSolver;
+import hoaftq.puzzle.solver.pdb.PatternDatabases;
+
+import javax.swing.Timer;
+import java.awt.Rectangle;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Play the moves of a solution on a game board while the solver is still finding them.
+ * <p>
+ * The solver runs on its own thread and puts the moves into a bounded queue, it waits when the queue is full,
+ * so memory use doesn't depend on the length of the solution. A Swing timer takes the moves out at a given rate
+ * and applies them to the game logic, the listener is called once per frame instead of once per move.
+ * All the methods must be called on the event dispatch thread, the listener is called on it too
+ */
+public class SolutionPlayer {
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final int FRAME_MILLIS = 16;
+
+    /**
+     * Largest board solved optimally, nothing is played until an optimal solution is found and a random 5x5 board
+     * can take hours
+     */
+    private static final int MAX_OPTIMAL_CELLS = 16;
+
+    public static final int DEFAULT_MOVES_PER_SECOND = 10;
+
+    private final Timer timer = new Timer(FRAME_MILLIS, e -> playFrame());
+    private final FrameListener frameListener;
+
+    private GameLogic gameLogic;
+    private Playback playback;
+
+    private int movesPerSecond = DEFAULT_MOVES_PER_SECOND;
+
+    /**
+     * Moves allowed but not played yet, it carries the fractions of moves over to the next frames
+     */
+    private double moveBudget;
+    private long lastFrameTime;
+
+    /**
+     * Listener of the frames of a playback
+     */
+    @FunctionalInterface
+    public interface FrameListener {
+
+        /**
+         * Called after each frame that played moves, and when the playback ends by itself
+         *
+         * @param moveCount    number of moves played in the frame
+         * @param changedCells smallest rectangle of cells holding all the tiles moved in the frame,
+         *                     in cell coordinates, empty if no move was played
+         */
+        void framePlayed(int moveCount, Rectangle changedCells);
+    }
+
+    /**
+     * Create a player
+     *
+     * @param frameListener called on the event dispatch thread after the frames of the playback
+     */
+    public SolutionPlayer(FrameListener frameListener) {
+        this.frameListener = frameListener;
+    }
+
+    /**
+     * Solve the current board of a game logic and start playing the moves on it, the previous playback is stopped
+     */
+    public void start(GameLogic gameLogic) {
+        stop();
+
+        this.gameLogic = gameLogic;
+        var board = new GameLogic(gameLogic);
+        playback = new Playback(createSolver(BoardShape.of(board)));
+        playback.start(board);
+
+        moveBudget = 0;
+        lastFrameTime = System.nanoTime();
+        timer.start();
+    }
+
+    /**
+     * Stop the solver and the playback, the moves already played stay on the game board
+     */
+    public void stop() {
+        if (playback == null) {
+            return;
+        }
+
+        timer.stop();
+        playback.stop();
+        playback = null;
+        gameLogic = null;
+    }
+
+    public boolean isPlaying() {
+        return playback != null;
+    }
+
+    public int getMovesPerSecond() {
+        return movesPerSecond;
+    }
+
+    public void setMovesPerSecond(int movesPerSecond) {
+        if (movesPerSecond <= 0) {
+            throw new IllegalArgumentException("Moves per second must be positive.");
+        }
+
+        this.movesPerSecond = movesPerSecond;
+    }
+
+    /**
+     * Choose the solver by the size of the board: optimal solutions for the boards that can be solved quickly,
+     * the constructive solver for the others
+     */
+    private static Solver createSolver(BoardShape shape) {
+        if (ExactDistanceTables.isSupported(shape)) {
+            return new ExactSolver();
+        }
+        if (shape.cellCount() <= MAX_OPTIMAL_CELLS && PatternDatabases.isSupported(shape)) {
+            return new IdaStarSolver(HeuristicType.PATTERN_DATABASE, Long.MAX_VALUE);
+        }
+
+        return new ConstructiveSolver();
+    }
+
+    /**
+     * Play the moves allowed since the previous frame, on the event dispatch thread
+     */
+    private void playFrame() {
+        long now = System.nanoTime();
+
+        // Don't save up more than two frames of moves while waiting for the solver or for a late frame,
+        // they would be played in a burst afterwards
+        double maxBudget = Math.max(movesPerSecond * 2.0 * FRAME_MILLIS / 1000, 1);
+        moveBudget = Math.min(moveBudget + movesPerSecond * (now - lastFrameTime) / 1e9, maxBudget);
+        lastFrameTime = now;
+
+        // Every tile moved in the frame is on a cell the empty tile went through
+        int row = gameLogic.getRow();
+        int minX = gameLogic.getEmptyIndex() % row;
+        int maxX = minX;
+        int minY = gameLogic.getEmptyIndex() / row;
+        int maxY = minY;
+
+        int played = 0;
+        while (played < (int) moveBudget) {
+            var direction = playback.moves.poll();
+            if (direction == null) {
+                break;
+            }
+
+            gameLogic.moveEmptyPosition(direction);
+            played++;
+
+            int x = gameLogic.getEmptyIndex() % row;
+            int y = gameLogic.getEmptyIndex() / row;
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+        moveBudget -= played;
+        var changedCells = played > 0
+                ? new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1)
+                : new Rectangle();
+
+        boolean hasFinished = playback.hasSolverFinished && playback.moves.isEmpty();
+        if (hasFinished) {
+            stop();
+        }
+
+        if (played > 0 || hasFinished) {
+            frameListener.framePlayed(played, changedCells);
+        }
+    }
+
+    /**
+     * Moves of one solution, each playback has its own queue so that a stopped solver can't add moves to the next one
+     */
+    private static class Playback {
+        private final BlockingQueue<Direction> moves = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final Solver solver;
+        private Thread producer;
+        private volatile boolean hasSolverFinished;
+
+        Playback(Solver solver) {
+            this.solver = solver;
+        }
+
+        void start(GameLogic board) {
+            producer = Thread.ofPlatform().daemon().name("solution-player").start(() -> produce(board));
+        }
+
+        void stop() {
+            solver.cancel();
+            producer.interrupt();
+        }
+
+        /**
+         * Run the solver and put its moves into the queue, on the producer thread.
+         * The solver is finished even when it fails, so that the playback ends after the moves already found
+         */
+        private void produce(GameLogic board) {
+            try {
+                if (solver instanceof ConstructiveSolver constructiveSolver) {
+                    constructiveSolver.solve(board, this::put);
+                } else {
+                    for (var direction : solver.solve(board).moves()) {
+                        if (!put(direction)) {
+                            return;
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            } finally {
+                hasSolverFinished = true;
+            }
+        }
+
+        /**
+         * Put a move into the queue, waiting while it is full
+         *
+         * @return false if the playback has been stopped
+         */
+        private boolean put(Direction direction) {
+            try {
+                moves.put(direction);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
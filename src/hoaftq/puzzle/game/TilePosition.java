@@ -1,12 +1,12 @@
 package hoaftq.puzzle.game;
 
-public record TilePosition(byte x, byte y) {
+public record TilePosition(int x, int y) {
 
     public TilePosition moveHorizontally(int step) {
-        return new TilePosition((byte) (x + step), y);
+        return new TilePosition(x + step, y);
     }
 
     public TilePosition moveVertically(int step) {
-        return new TilePosition(x, (byte) (y + step));
+        return new TilePosition(x, y + step);
     }
 }
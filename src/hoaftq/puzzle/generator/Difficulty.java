@@ -0,0 +1,38 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.generator;
+
+/**
+ * Difficulty of a new game, as a range of the number of moves of an optimal solution.
+ * The ranges are relative to the average Manhattan distance of a random board, so they scale with the board size
+ */
+public enum Difficulty {
+    EASY(0.5, 0.7),
+    MEDIUM(0.9, 1.1),
+    HARD(1.3, 1.45);
+
+    private final double minRatio;
+    private final double maxRatio;
+
+    Difficulty(double minRatio, double maxRatio) {
+        this.minRatio = minRatio;
+        this.maxRatio = maxRatio;
+    }
+
+    public int getMinMoves(int row, int column) {
+        return Math.max((int) Math.round(minRatio * averageManhattanDistance(row, column)), 1);
+    }
+
+    public int getMaxMoves(int row, int column) {
+        return Math.max((int) Math.round(maxRatio * averageManhattanDistance(row, column)), getMinMoves(row, column));
+    }
+
+    /**
+     * Average Manhattan distance of a random board, the average distance between two random cells of a line of n
+     * cells is (n * n - 1) / (3 * n)
+     */
+    private static double averageManhattanDistance(int row, int column) {
+        return (row * column - 1) * ((row * row - 1) / (3.0 * row) + (column * column - 1) / (3.0 * column));
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.generator;
+
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.game.PuzzleId;
+import hoaftq.puzzle.game.ShuffleMode;
+import hoaftq.puzzle.solver.BoardShape;
+import hoaftq.puzzle.solver.HeuristicType;
+import hoaftq.puzzle.solver.IdaStarSolver;
+import hoaftq.puzzle.solver.exact.ExactDistanceTables;
+import hoaftq.puzzle.solver.pdb.PatternDatabases;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generate boards whose optimal solutions have a number of moves in a given range.
+ * <p>
+ * Worker threads create candidate boards, measure them and put the accepted ones into a bounded queue,
+ * so that a board is usually ready when it is needed. A candidate is made by random moves from the finished
+ * board, the number of random moves is adjusted by each worker toward the requested range
+ */
+public class PuzzleGenerator implements AutoCloseable {
+
+    /**
+     * Maximum number of nodes expanded to measure a candidate, harder candidates are dropped
+     */
+    private static final long NODE_LIMIT = 5_000_000;
+
+    /**
+     * Largest board measured with the pattern databases, candidates of larger boards almost never fit in the node
+     * limit
+     */
+    private static final int MAX_PATTERN_DATABASE_CELLS = 16;
+
+    /**
+     * Time between two checks of an error or of the generator being closed while waiting for a board
+     */
+    private static final long CHECK_MILLIS = 100;
+
+    private final int row;
+    private final int column;
+    private final EmptyTilePosition position;
+    private final int minMoves;
+    private final int maxMoves;
+    private final BoardShape shape;
+
+    private final BlockingQueue<GameLogic> boards;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicLong candidateCount = new AtomicLong();
+    private final AtomicLong generatedCount = new AtomicLong();
+
+    private volatile boolean closed;
+    private volatile RuntimeException failure;
+    private long startTime;
+
+    /**
+     * Create a generator, it doesn't generate anything until it is started
+     *
+     * @param minMoves minimum number of moves of an optimal solution
+     * @param maxMoves maximum number of moves of an optimal solution
+     * @param capacity number of boards generated ahead
+     */
+    public PuzzleGenerator(int row, int column, EmptyTilePosition position, int minMoves, int maxMoves, int capacity) {
+        if (minMoves < 1 || minMoves > maxMoves) {
+            throw new IllegalArgumentException("Invalid range of moves " + minMoves + "-" + maxMoves);
+        }
+
+        this.row = row;
+        this.column = column;
+        this.position = position;
+        this.minMoves = minMoves;
+        this.maxMoves = maxMoves;
+        this.shape = BoardShape.of(row, column, position);
+        if (!isSupported(shape)) {
+            throw new IllegalArgumentException("Boards can't be generated by difficulty for " + shape);
+        }
+
+        boards = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Check if the optimal solutions of a board shape can be found quickly enough to generate boards
+     */
+    public static boolean isSupported(BoardShape shape) {
+        return ExactDistanceTables.isSupported(shape)
+               || shape.cellCount() <= MAX_PATTERN_DATABASE_CELLS && PatternDatabases.isSupported(shape);
+    }
+
+    /**
+     * Start generating on a number of threads
+     */
+    public synchronized void start(int threads) {
+        if (!workers.isEmpty()) {
+            throw new IllegalStateException("The generator has already been started.");
+        }
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            var worker = new Thread(this::generate, "puzzle-generator-" + i);
+            worker.setDaemon(true);
+            worker.setPriority(Thread.MIN_PRIORITY);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Take the next board, waiting for it to be generated if none is ready
+     *
+     * @return the board, null if the generator has been closed before a board was ready
+     * @throws IllegalStateException if the workers have stopped on an error
+     */
+    public GameLogic take() throws InterruptedException {
+        while (true) {
+            var board = boards.poll(CHECK_MILLIS, TimeUnit.MILLISECONDS);
+            if (board != null) {
+                return board;
+            }
+
+            if (failure != null) {
+                throw new IllegalStateException("Boards can't be generated for " + shape + ".", failure);
+            }
+            if (closed) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Take the next board if one is ready, without waiting
+     *
+     * @return the board, null if none is ready
+     */
+    public GameLogic poll() {
+        return boards.poll();
+    }
+
+    public BoardShape getShape() {
+        return shape;
+    }
+
+    public int getMinMoves() {
+        return minMoves;
+    }
+
+    public int getMaxMoves() {
+        return maxMoves;
+    }
+
+    /**
+     * Get number of boards accepted so far
+     */
+    public long getGeneratedCount() {
+        return generatedCount.get();
+    }
+
+    /**
+     * Get number of candidate boards measured so far
+     */
+    public long getCandidateCount() {
+        return candidateCount.get();
+    }
+
+    /**
+     * Get number of boards accepted per second since the generator started
+     */
+    public double getBoardsPerSecond() {
+        long elapsed = System.nanoTime() - startTime;
+        return startTime == 0 || elapsed == 0 ? 0 : generatedCount.get() * 1e9 / elapsed;
+    }
+
+    /**
+     * Stop the worker threads, the boards in the queue can still be taken
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Generate boards until the generator is closed. An error stops all the workers, it is thrown by {@link #take}
+     */
+    private void generate() {
+        try {
+            generateBoards();
+        } catch (RuntimeException e) {
+            failure = e;
+            close();
+        }
+    }
+
+    private void generateBoards() {
+        if (!ExactDistanceTables.isSupported(shape)) {
+            PatternDatabases.await(shape);
+        }
+
+        var random = new SplittableRandom();
+
+        // A random walk of more moves than this is as good as a random permutation
+        int maxWalkLength = 4 * shape.cellCount() * Math.max(row, column);
+        int walkLength = maxMoves;
+        while (!closed) {
+            var board = new GameLogic(row, column, position);
+
+            // Candidates are made from seeds, so that the accepted boards have an id
+            long seed = random.nextLong(1L << PuzzleId.RANDOM_SEED_BITS);
+            if (walkLength >= maxWalkLength) {
+                board.createGameBoard(ShuffleMode.RANDOM_PERMUTATION, seed);
+            } else {
+                board.createGameBoard(ShuffleMode.RANDOM_MOVES, PuzzleId.randomMovesSeed(walkLength, seed));
+            }
+
+            candidateCount.incrementAndGet();
+            int moves = measure(board);
+            if (moves >= 0 && moves < minMoves) {
+                walkLength = Math.min(walkLength + Math.max(walkLength / 8, 1), maxWalkLength);
+            } else if (moves > maxMoves || moves < 0) {
+                walkLength = Math.max(walkLength - Math.max(walkLength / 8, 1), minMoves);
+            } else {
+                try {
+                    boards.put(board);
+                    generatedCount.incrementAndGet();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of moves of an optimal solution of a board
+     *
+     * @return the number of moves, or -1 if it is more than the maximum or it takes too long to find
+     */
+    private int measure(GameLogic board) {
+        if (ExactDistanceTables.isSupported(shape)) {
+            int moves = ExactDistanceTables.distance(board).orElse(-1);
+            return moves <= maxMoves ? moves : -1;
+        }
+
+        var solution = new IdaStarSolver(HeuristicType.PATTERN_DATABASE, NODE_LIMIT, maxMoves, null).solve(board);
+        return solution.isSolved() ? solution.moves().size() : -1;
+    }
+}
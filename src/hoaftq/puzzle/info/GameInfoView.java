@@ -6,6 +6,10 @@ import java.io.IOException;
 import java.util.function.Consumer;
 
 public class GameInfoView {
+    private static final int TIME_LEFT = 10;
+    private static final int STEP_RIGHT_MARGIN = 12;
+    private static final int TIME_DIGITS = 4;
+
     private int elapsedTime;
     private int step;
 
@@ -32,6 +36,14 @@ public class GameInfoView {
         step++;
     }
 
+    public void increaseStep(int count) {
+        step += count;
+    }
+
+    public void decreaseStep() {
+        step--;
+    }
+
     public void startTimer() {
         timer.start();
     }
@@ -45,12 +57,43 @@ public class GameInfoView {
         elapsedTime = 0;
     }
 
+    public int getElapsedTime() {
+        return elapsedTime;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
     public void paint(Graphics g, int width, int y1, int y2) {
+        paint(g, width, y1, y2, elapsedTime, step);
+    }
+
+    /**
+     * Paint given values instead of the current ones, so that a copy of them can be painted on another thread
+     */
+    public void paint(Graphics g, int width, int y1, int y2, int elapsedTime, int step) {
 
         // Draw elapsed time
-        numbersView.drawNumber(g, 10, y1, y2, elapsedTime, 4);
+        numbersView.drawNumber(g, TIME_LEFT, y1, y2, elapsedTime, TIME_DIGITS);
 
         // Draw played step
-        numbersView.drawNumberRightAlign(g, width - 12, y1, y2, step);
+        numbersView.drawNumberRightAlign(g, width - STEP_RIGHT_MARGIN, y1, y2, step);
+    }
+
+    /**
+     * Get the area where the elapsed time is painted, so that a tick only repaints it
+     */
+    public Rectangle getTimeBounds(int y1, int y2) {
+        return new Rectangle(TIME_LEFT, y1, numbersView.getNumberWidth(elapsedTime, TIME_DIGITS), y2 - y1);
+    }
+
+    /**
+     * Get the area where the played step is painted. It is one digit wider than the step,
+     * so that the digit left over by a step losing a digit is cleared as well
+     */
+    public Rectangle getStepBounds(int width, int y1, int y2) {
+        int numberWidth = numbersView.getNumberWidth(step, 1) + numbersView.getDigitWidth();
+        return new Rectangle(width - STEP_RIGHT_MARGIN - numberWidth, y1, numberWidth, y2 - y1);
     }
 }
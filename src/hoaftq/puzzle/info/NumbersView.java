@@ -38,6 +38,26 @@ public class NumbersView {
         digitHeight = image.getHeight(null);
     }
 
+    /**
+     * Get the width of a number as drawn by {@link #drawNumber}
+     *
+     * @param n           - number to draw
+     * @param totalDigits - total digit to display
+     */
+    public int getNumberWidth(int n, int totalDigits) {
+        int digits = 1;
+        while (n >= 10) {
+            n /= 10;
+            digits++;
+        }
+
+        return Math.max(digits, totalDigits) * digitWidth;
+    }
+
+    public int getDigitWidth() {
+        return digitWidth;
+    }
+
     /**
      * Draw a positive number with left align
      *
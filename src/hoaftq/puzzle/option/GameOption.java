@@ -9,7 +9,8 @@ import hoaftq.puzzle.common.PuzzleImage;
 public record GameOption(
         boolean usedImage,
         PuzzleImage puzzleImage,
-        byte row,
-        byte column,
-        EmptyTilePosition emptyPosition) {
+        int row,
+        int column,
+        EmptyTilePosition emptyPosition,
+        boolean largeBoard) {
 }
@@ -13,6 +13,7 @@ public class GameOptionStorage {
     private static final String IMAGE_NAME_KEY = "image-name";
     private static final String ROW = "row";
     private static final String COLUMN = "column";
+    private static final String LARGE_BOARD = "large-board";
 
     private static final String IMAGE_TYPE_USE_NUMBER = "0";
     private static final String IMAGE_TYPE_USE_INTERNAL_IMAGE = "1";
@@ -39,7 +40,9 @@ public class GameOptionStorage {
                     + IMAGE_TYPE_USE_INTERNAL_IMAGE + "-use default image, "
                     + IMAGE_TYPE_USE_EXTERNAL_IMAGE + "-use customized image" + System.lineSeparator()
                     + ROW + ": integer from 2 to 10" + System.lineSeparator()
-                    + COLUMN + ": integer from 2 to 10");
+                    + COLUMN + ": integer from 2 to 10" + System.lineSeparator()
+                    + LARGE_BOARD + ": true to allow " + ROW + " and " + COLUMN + " up to "
+                    + GameOptionValidator.MAX_LARGE_BOARD_ROW_OR_COLUMN);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -71,22 +74,25 @@ public class GameOptionStorage {
         var usedImage = !IMAGE_TYPE_USE_NUMBER.equals(imageType);
         var puzzleImage = new PuzzleImage(imageFileName, IMAGE_TYPE_USE_INTERNAL_IMAGE.equals(imageType));
 
+        var largeBoard = Boolean.parseBoolean(properties.getProperty(LARGE_BOARD));
+
         var row = properties.getProperty(ROW);
-        if (validator.isInvalidRowOrColumn(row)) {
+        if (validator.isInvalidRowOrColumn(row, largeBoard)) {
             row = "4";
         }
 
         String column = properties.getProperty(COLUMN);
-        if (validator.isInvalidRowOrColumn(column)) {
+        if (validator.isInvalidRowOrColumn(column, largeBoard)) {
             column = "4";
         }
 
         return new GameOption(
                 usedImage,
                 puzzleImage,
-                Byte.parseByte(row),
-                Byte.parseByte(column),
-                EmptyTilePosition.BOTTOM_RIGHT);
+                Integer.parseInt(row),
+                Integer.parseInt(column),
+                EmptyTilePosition.BOTTOM_RIGHT,
+                largeBoard);
     }
 
     private static boolean isInvalidImageType(String imageType) {
@@ -107,6 +113,7 @@ public class GameOptionStorage {
         }
         properties.put(ROW, String.valueOf(gameOption.row()));
         properties.put(COLUMN, String.valueOf(gameOption.column()));
+        properties.put(LARGE_BOARD, String.valueOf(gameOption.largeBoard()));
         return properties;
     }
 
@@ -1,14 +1,30 @@
 package hoaftq.puzzle.option;
 
 public class GameOptionValidator {
+    public static final int MIN_ROW_OR_COLUMN = 2;
+    public static final int MAX_ROW_OR_COLUMN = 10;
+
+    /**
+     * Maximum number of rows or columns of a large board, used for stress testing and endurance play
+     */
+    public static final int MAX_LARGE_BOARD_ROW_OR_COLUMN = 256;
 
     /**
      * Check if a string is a valid value for row or column
      */
     public boolean isInvalidRowOrColumn(String value) {
+        return isInvalidRowOrColumn(value, false);
+    }
+
+    /**
+     * Check if a string is a valid value for row or column
+     *
+     * @param largeBoard whether the large board mode is on
+     */
+    public boolean isInvalidRowOrColumn(String value, boolean largeBoard) {
         try {
             int v = Integer.parseInt(value);
-            if (v >= 2 && v <= 10) {
+            if (v >= MIN_ROW_OR_COLUMN && v <= getMaxRowOrColumn(largeBoard)) {
                 return false;
             }
         } catch (NumberFormatException ignored) {
@@ -16,4 +32,8 @@ public class GameOptionValidator {
 
         return true;
     }
+
+    public int getMaxRowOrColumn(boolean largeBoard) {
+        return largeBoard ? MAX_LARGE_BOARD_ROW_OR_COLUMN : MAX_ROW_OR_COLUMN;
+    }
 }
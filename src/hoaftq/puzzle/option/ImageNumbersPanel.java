@@ -17,8 +17,8 @@ public class ImageNumbersPanel extends JPanel {
     private static final String IMAGE_ERROR_MESSAGE = "Image could not be displayed. Please choose another one.";
 
     private final JPanel drawingPanel;
-    private final byte row;
-    private final byte column;
+    private final int row;
+    private final int column;
 
     /**
      * Piece image or piece number
@@ -26,7 +26,7 @@ public class ImageNumbersPanel extends JPanel {
     private TilesView tilesView;
     private boolean isImageError;
 
-    public ImageNumbersPanel(byte row, byte column, int width, int height) {
+    public ImageNumbersPanel(int row, int column, int width, int height) {
         this.row = row;
         this.column = column;
 
@@ -43,6 +43,8 @@ public class OptionDialog extends JDialog {
 
     private JTextField colTextField;
 
+    private JCheckBox largeBoardCheckBox;
+
     /**
      * Is user clicked OK button
      */
@@ -294,9 +296,10 @@ public class OptionDialog extends JDialog {
             gameOption = new GameOption(
                     imageRadioButton.isSelected(),
                     puzzleImageList.getSelectedValue(),
-                    Byte.parseByte(rowTextField.getText()),
-                    Byte.parseByte(colTextField.getText()),
-                    EmptyTilePosition.BOTTOM_RIGHT);
+                    Integer.parseInt(rowTextField.getText()),
+                    Integer.parseInt(colTextField.getText()),
+                    EmptyTilePosition.BOTTOM_RIGHT,
+                    largeBoardCheckBox.isSelected());
 
             // Save game information to data file
             gameOptionStorage.save(gameOption);
@@ -309,9 +312,12 @@ public class OptionDialog extends JDialog {
     }
 
     private boolean validateInputs() {
-        if (validator.isInvalidRowOrColumn(rowTextField.getText())) {
+        var largeBoard = largeBoardCheckBox.isSelected();
+        var rowOrColumnMessage = "Please enter a number from " + GameOptionValidator.MIN_ROW_OR_COLUMN
+                                 + " to " + validator.getMaxRowOrColumn(largeBoard) + ".";
+        if (validator.isInvalidRowOrColumn(rowTextField.getText(), largeBoard)) {
             JOptionPane.showMessageDialog(OptionDialog.this,
-                    "Please enter a number from 2 to 10.",
+                    rowOrColumnMessage,
                     "Puzzle",
                     JOptionPane.INFORMATION_MESSAGE);
             rowTextField.requestFocus();
@@ -319,9 +325,9 @@ public class OptionDialog extends JDialog {
             return false;
         }
 
-        if (validator.isInvalidRowOrColumn(colTextField.getText())) {
+        if (validator.isInvalidRowOrColumn(colTextField.getText(), largeBoard)) {
             JOptionPane.showMessageDialog(OptionDialog.this,
-                    "Please enter a number from 2 to 10.",
+                    rowOrColumnMessage,
                     "Puzzle",
                     JOptionPane.INFORMATION_MESSAGE);
             colTextField.requestFocus();
@@ -345,11 +351,13 @@ public class OptionDialog extends JDialog {
      * Create panel container rows and columns text field
      */
     private JPanel createRowColumnPanel() {
-        var panel = new JPanel(new GridLayout(2, 2, 1, 6));
+        var panel = new JPanel(new GridLayout(3, 2, 1, 6));
         panel.add(new JLabel("Rows"));
-        panel.add(rowTextField = new JTextField(Byte.toString(gameOption.row()), 2));
+        panel.add(rowTextField = new JTextField(Integer.toString(gameOption.row()), 3));
         panel.add(new JLabel("Columns"));
-        panel.add(colTextField = new JTextField(Byte.toString(gameOption.column()), 2));
+        panel.add(colTextField = new JTextField(Integer.toString(gameOption.column()), 3));
+        panel.add(new JLabel("Large board"));
+        panel.add(largeBoardCheckBox = new JCheckBox("", gameOption.largeBoard()));
         return panel;
     }
 }
@@ -0,0 +1,101 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+import hoaftq.puzzle.game.Direction;
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.game.GameLogic;
+
+/**
+ * Dimensions of a game board and the cell where the empty tile belongs to.
+ * Cells are indexed as x + y * width, the same as {@link GameLogic}
+ *
+ * @param width     number of horizontal cells
+ * @param height    number of vertical cells
+ * @param emptyTile cell index of the empty tile when the game is finished
+ */
+public record BoardShape(int width, int height, int emptyTile) {
+
+    public static BoardShape of(GameLogic gameLogic) {
+        return new BoardShape(gameLogic.getRow(), gameLogic.getColumn(), gameLogic.getEmptyTile());
+    }
+
+    public static BoardShape of(int width, int height, EmptyTilePosition position) {
+        return new BoardShape(width, height, position.cellIndex(width, height));
+    }
+
+    /**
+     * Get the corner where the empty tile belongs to
+     */
+    public EmptyTilePosition emptyTilePosition() {
+        for (var position : EmptyTilePosition.values()) {
+            if (position.cellIndex(width, height) == emptyTile) {
+                return position;
+            }
+        }
+
+        throw new IllegalStateException("Empty tile is not at a corner.");
+    }
+
+    public int cellCount() {
+        return width * height;
+    }
+
+    /**
+     * Copy the game board of a game logic into an array of original cell indexes
+     */
+    public static int[] tilesOf(GameLogic gameLogic) {
+        var tiles = new int[gameLogic.getCellCount()];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = gameLogic.getTileAt(i);
+        }
+
+        return tiles;
+    }
+
+    /**
+     * Create a table of neighbor cells, the neighbor of cell i in direction d is at i * 4 + d.ordinal().
+     * It is -1 if there is no neighbor in that direction
+     */
+    public int[] createNeighborTable() {
+        var neighbors = new int[cellCount() * 4];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                for (var direction : Direction.values()) {
+                    int nx = x + direction.stepX();
+                    int ny = y + direction.stepY();
+                    neighbors[(x + y * width) * 4 + direction.ordinal()]
+                            = nx >= 0 && nx < width && ny >= 0 && ny < height ? nx + ny * width : -1;
+                }
+            }
+        }
+
+        return neighbors;
+    }
+
+    /**
+     * Check if a board can be moved to the finished board.
+     * It can when the parity of the permutation equals the parity of the distance from the empty tile to its cell
+     */
+    public boolean isSolvable(int[] tiles, int emptyIndex) {
+        var visited = new boolean[tiles.length];
+        int transpositions = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            if (visited[i]) {
+                continue;
+            }
+
+            // A cycle of length n is made of n - 1 transpositions
+            for (int j = tiles[i]; j != i; j = tiles[j]) {
+                visited[j] = true;
+                transpositions++;
+            }
+            visited[i] = true;
+        }
+
+        int emptyDistance = Math.abs(emptyIndex % width - emptyTile % width)
+                            + Math.abs(emptyIndex / width - emptyTile / width);
+        return (transpositions & 1) == (emptyDistance & 1);
+    }
+}
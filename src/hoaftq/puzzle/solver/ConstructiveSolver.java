@@ -0,0 +1,472 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+import hoaftq.puzzle.game.Direction;
+import hoaftq.puzzle.game.GameLogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fast solver for boards of any size, its solutions are not optimal.
+ * <p>
+ * The unsolved part of the board shrinks one line at a time, the top row or the left column whichever is longer,
+ * until 2x2 cells remain. The tiles of a line are moved to their cells one by one with the empty tile going around
+ * them, and the last two tiles of a line are put in place together by a breadth first search over a small window.
+ * Boards are mirrored so that the empty tile belongs to the bottom right corner. A tile travels at most the width
+ * plus the height of the board, so the time and the number of moves grow with cellCount^1.5
+ */
+public class ConstructiveSolver implements Solver {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Number of lines across and cells along a line covered by the window of the last two tiles of a line
+     */
+    private static final int WINDOW_SIZE = 4;
+
+    private volatile boolean cancelled;
+
+    @Override
+    public Solution solve(GameLogic gameLogic) {
+        var moves = new ArrayList<Direction>();
+        var solution = solve(gameLogic, moves::add);
+        return solution.isSolved()
+                ? new Solution(solution.status(), List.copyOf(moves), solution.nodes(), solution.elapsedNanos())
+                : solution;
+    }
+
+    /**
+     * Solve the current board of a game logic, passing each move to a consumer as soon as it is found.
+     * Very large boards take millions of moves, this way they don't have to be kept in memory
+     *
+     * @return how the search ended, the moves of the result are always empty
+     */
+    public Solution solve(GameLogic gameLogic, Consumer<Direction> consumer) {
+        long startTime = System.nanoTime();
+        var shape = BoardShape.of(gameLogic);
+        var tiles = BoardShape.tilesOf(gameLogic);
+        if (!shape.isSolvable(tiles, gameLogic.getEmptyIndex())) {
+            return new Solution(Solution.Status.UNSOLVABLE, List.of(), 0, System.nanoTime() - startTime);
+        }
+
+        var board = new Board(shape, tiles, consumer);
+        var status = board.solve() ? Solution.Status.SOLVED : Solution.Status.CANCELLED;
+        return new Solution(status, List.of(), board.nodes, System.nanoTime() - startTime);
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Mirrored board being solved. Cells are indexed as x + y * width and a tile is the cell it belongs to,
+     * so the empty tile is the last cell
+     */
+    private class Board {
+        private final int width;
+        private final int height;
+        private final int emptyTile;
+        private final int[] tiles;
+        private final int[] positions;
+        private final boolean[] fixed;
+        private int emptyIndex;
+
+        /**
+         * Direction passed to the consumer for each direction on the mirrored board
+         */
+        private final Direction[] realDirections = new Direction[DIRECTIONS.length];
+        private final Consumer<Direction> consumer;
+
+        /**
+         * Number of cells and window states visited by the searches
+         */
+        private long nodes;
+
+        // Buffers of the searches of the empty tile, a cell has been visited if its stamp is the current one
+        private final int[] stamps;
+        private final int[] parents;
+        private final int[] queue;
+        private int stamp;
+
+        // Window of the last two tiles of a line, window indexes are -1 for the cells outside of it
+        private final int[] windowIndexes;
+        private final int[] windowCells = new int[WINDOW_SIZE * WINDOW_SIZE];
+        private final int[] windowNeighbors = new int[WINDOW_SIZE * WINDOW_SIZE * 4];
+        private int windowSize;
+        private final int[] windowParents = new int[windowCells.length * windowCells.length * windowCells.length];
+        private final int[] windowQueue = new int[windowParents.length];
+
+        Board(BoardShape shape, int[] realTiles, Consumer<Direction> consumer) {
+            width = shape.width();
+            height = shape.height();
+            this.consumer = consumer;
+
+            int emptyX = shape.emptyTile() % width;
+            int emptyY = shape.emptyTile() / width;
+            boolean mirrorX = emptyX == 0;
+            boolean mirrorY = emptyY == 0;
+            for (var direction : DIRECTIONS) {
+                boolean horizontal = direction.stepY() == 0;
+                realDirections[direction.ordinal()] = (horizontal ? mirrorX : mirrorY) ? direction.opposite() : direction;
+            }
+
+            int cellCount = shape.cellCount();
+            emptyTile = cellCount - 1;
+            tiles = new int[cellCount];
+            positions = new int[cellCount];
+            for (int i = 0; i < cellCount; i++) {
+                int cell = mirror(i, mirrorX, mirrorY);
+                tiles[cell] = mirror(realTiles[i], mirrorX, mirrorY);
+                positions[tiles[cell]] = cell;
+            }
+            emptyIndex = positions[emptyTile];
+
+            fixed = new boolean[cellCount];
+            stamps = new int[cellCount];
+            parents = new int[cellCount];
+            queue = new int[cellCount];
+            windowIndexes = new int[cellCount];
+            Arrays.fill(windowIndexes, -1);
+        }
+
+        private int mirror(int cell, boolean mirrorX, boolean mirrorY) {
+            int x = cell % width;
+            int y = cell / width;
+            return (mirrorX ? width - 1 - x : x) + (mirrorY ? height - 1 - y : y) * width;
+        }
+
+        /**
+         * @return false if the solver has been cancelled
+         */
+        boolean solve() {
+            int left = 0;
+            int top = 0;
+            while (width - left > 2 || height - top > 2) {
+                if (height - top > 2 && height - top >= width - left) {
+                    if (!solveLine(false, top, left)) {
+                        return false;
+                    }
+                    top++;
+                } else {
+                    if (!solveLine(true, left, top)) {
+                        return false;
+                    }
+                    left++;
+                }
+            }
+
+            solveLastSquare();
+            return true;
+        }
+
+        /**
+         * Get a cell by its position along a line and its line
+         *
+         * @param isColumn whether the lines are columns
+         * @param along    position along the line, x for a row and y for a column
+         * @param line     y of a row or x of a column
+         */
+        private int cellAt(boolean isColumn, int along, int line) {
+            return isColumn ? line + along * width : along + line * width;
+        }
+
+        /**
+         * Put the tiles of the top row or the left column of the unsolved part of the board in place
+         *
+         * @param line  y of the row or x of the column
+         * @param start first unsolved cell along the line
+         */
+        private boolean solveLine(boolean isColumn, int line, int start) {
+            int end = (isColumn ? height : width) - 1;
+            for (int along = start; along < end - 1; along++) {
+                if (cancelled) {
+                    return false;
+                }
+
+                int cell = cellAt(isColumn, along, line);
+                moveTile(cell, cell, -1, false);
+                fixed[cell] = true;
+            }
+
+            if (cancelled) {
+                return false;
+            }
+
+            solveLastTwoTiles(isColumn, line, start, end);
+            return true;
+        }
+
+        /**
+         * Put the last two tiles of a line in place. Moving them one after the other can get stuck when the first
+         * one blocks the way of the second one, so they are brought close to their cells and then moved together
+         */
+        private void solveLastTwoTiles(boolean isColumn, int line, int start, int end) {
+            int first = cellAt(isColumn, end - 1, line);
+            int second = cellAt(isColumn, end, line);
+            if (positions[first] != first || positions[second] != second) {
+                createWindow(isColumn, line, Math.max(start, end - WINDOW_SIZE + 1), end);
+
+                // The first tile waits next to its cell, far enough from the outside of the window that the second
+                // one can be moved into the window around it
+                int waitingCell = cellAt(isColumn, end - 1, line + 1);
+                moveTile(first, waitingCell, -1, false);
+                if (windowIndexes[positions[second]] < 0) {
+                    moveTile(second, second, waitingCell, true);
+                }
+                if (windowIndexes[emptyIndex] < 0) {
+                    moveEmpty(-1, positions[first], positions[second]);
+                }
+
+                searchWindow(first, second);
+                clearWindow();
+            }
+
+            fixed[first] = true;
+            fixed[second] = true;
+        }
+
+        /**
+         * Move a tile to a cell one step at a time, the empty tile goes around the tile to the next cell of each step
+         *
+         * @param lockedCell   cell that must not be moved, -1 if none
+         * @param stopInWindow whether to stop as soon as the tile is in the window
+         */
+        private void moveTile(int tile, int target, int lockedCell, boolean stopInWindow) {
+            int cell = positions[tile];
+            while (cell != target && !(stopInWindow && windowIndexes[cell] >= 0)) {
+                int next = nextTileCell(cell, target, lockedCell);
+                moveEmpty(next, cell, lockedCell);
+                swapEmptyWith(cell);
+                cell = next;
+            }
+        }
+
+        /**
+         * Get the next cell of a tile on its way to a target, along the axis where it is farther first
+         */
+        private int nextTileCell(int cell, int target, int lockedCell) {
+            int dx = target % width - cell % width;
+            int dy = target / width - cell / width;
+            int horizontal = dx == 0 ? -1 : cell + Integer.signum(dx);
+            int vertical = dy == 0 ? -1 : cell + Integer.signum(dy) * width;
+            int preferred = Math.abs(dx) >= Math.abs(dy) ? horizontal : vertical;
+            int other = preferred == horizontal ? vertical : horizontal;
+            if (preferred >= 0 && isFree(preferred, lockedCell)) {
+                return preferred;
+            }
+            if (other >= 0 && isFree(other, lockedCell)) {
+                return other;
+            }
+
+            throw new IllegalStateException("Tile " + tiles[cell] + " can't be moved toward cell " + target + ".");
+        }
+
+        private boolean isFree(int cell, int lockedCell) {
+            return !fixed[cell] && cell != lockedCell;
+        }
+
+        /**
+         * Move the empty tile to a cell, straight toward it while possible and by a breadth first search otherwise
+         *
+         * @param target cell to move to, -1 for any cell of the window
+         */
+        private void moveEmpty(int target, int avoidedCell, int lockedCell) {
+            while (target >= 0 && emptyIndex != target) {
+                int dx = target % width - emptyIndex % width;
+                int dy = target / width - emptyIndex / width;
+                int next = -1;
+                if (dx != 0 && isFree(emptyIndex + Integer.signum(dx), lockedCell)
+                    && emptyIndex + Integer.signum(dx) != avoidedCell) {
+                    next = emptyIndex + Integer.signum(dx);
+                } else if (dy != 0 && isFree(emptyIndex + Integer.signum(dy) * width, lockedCell)
+                           && emptyIndex + Integer.signum(dy) * width != avoidedCell) {
+                    next = emptyIndex + Integer.signum(dy) * width;
+                }
+
+                if (next < 0) {
+                    break;
+                }
+                swapEmptyWith(next);
+            }
+
+            if (target < 0 ? windowIndexes[emptyIndex] < 0 : emptyIndex != target) {
+                searchEmptyPath(target, avoidedCell, lockedCell);
+            }
+        }
+
+        private void searchEmptyPath(int target, int avoidedCell, int lockedCell) {
+            stamp++;
+            stamps[emptyIndex] = stamp;
+            queue[0] = emptyIndex;
+            int found = -1;
+            for (int head = 0, tail = 1; head < tail && found < 0; head++) {
+                int cell = queue[head];
+                nodes++;
+                int x = cell % width;
+                int y = cell / width;
+                for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                    int nx = x + DIRECTIONS[direction].stepX();
+                    int ny = y + DIRECTIONS[direction].stepY();
+                    if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                        continue;
+                    }
+
+                    int next = nx + ny * width;
+                    if (stamps[next] == stamp || !isFree(next, lockedCell) || next == avoidedCell) {
+                        continue;
+                    }
+
+                    stamps[next] = stamp;
+                    parents[next] = cell;
+                    if (target < 0 ? windowIndexes[next] >= 0 : next == target) {
+                        found = next;
+                        break;
+                    }
+                    queue[tail++] = next;
+                }
+            }
+
+            if (found < 0) {
+                throw new IllegalStateException("Empty tile can't reach cell " + target + ".");
+            }
+
+            // Walk the path back into the queue, then replay it from the empty tile
+            int length = 0;
+            for (int cell = found; cell != emptyIndex; cell = parents[cell]) {
+                queue[length++] = cell;
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                swapEmptyWith(queue[i]);
+            }
+        }
+
+        private void createWindow(boolean isColumn, int line, int firstAlong, int lastAlong) {
+            int lastLine = Math.min(line + WINDOW_SIZE - 1, (isColumn ? width : height) - 1);
+            windowSize = 0;
+            for (int l = line; l <= lastLine; l++) {
+                for (int along = firstAlong; along <= lastAlong; along++) {
+                    int cell = cellAt(isColumn, along, l);
+                    if (!fixed[cell]) {
+                        windowIndexes[cell] = windowSize;
+                        windowCells[windowSize++] = cell;
+                    }
+                }
+            }
+
+            for (int i = 0; i < windowSize; i++) {
+                int x = windowCells[i] % width;
+                int y = windowCells[i] / width;
+                for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                    int nx = x + DIRECTIONS[direction].stepX();
+                    int ny = y + DIRECTIONS[direction].stepY();
+                    windowNeighbors[i * 4 + direction] = nx < 0 || nx >= width || ny < 0 || ny >= height
+                            ? -1 : windowIndexes[nx + ny * width];
+                }
+            }
+        }
+
+        private void clearWindow() {
+            for (int i = 0; i < windowSize; i++) {
+                windowIndexes[windowCells[i]] = -1;
+            }
+            windowSize = 0;
+        }
+
+        /**
+         * Find the shortest moves inside the window that put two tiles in place, the other tiles of the window
+         * can end up anywhere in it. A state is the window indexes of the two tiles and the empty tile
+         */
+        private void searchWindow(int first, int second) {
+            int size = windowSize;
+            int firstTarget = windowIndexes[first];
+            int secondTarget = windowIndexes[second];
+            int start = (windowIndexes[positions[first]] * size + windowIndexes[positions[second]]) * size
+                        + windowIndexes[emptyIndex];
+            int stateCount = size * size * size;
+            Arrays.fill(windowParents, 0, stateCount, -1);
+            windowParents[start] = start;
+            windowQueue[0] = start;
+
+            int found = -1;
+            for (int head = 0, tail = 1; head < tail && found < 0; head++) {
+                int state = windowQueue[head];
+                nodes++;
+                int empty = state % size;
+                int firstIndex = state / size / size;
+                int secondIndex = state / size % size;
+                if (firstIndex == firstTarget && secondIndex == secondTarget) {
+                    found = state;
+                    break;
+                }
+
+                for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                    int next = windowNeighbors[empty * 4 + direction];
+                    if (next < 0) {
+                        continue;
+                    }
+
+                    int nextFirst = firstIndex == next ? empty : firstIndex;
+                    int nextSecond = secondIndex == next ? empty : secondIndex;
+                    int nextState = (nextFirst * size + nextSecond) * size + next;
+                    if (windowParents[nextState] < 0) {
+                        windowParents[nextState] = state;
+                        windowQueue[tail++] = nextState;
+                    }
+                }
+            }
+
+            if (found < 0) {
+                throw new IllegalStateException("Tiles " + first + " and " + second + " can't be put in place.");
+            }
+
+            // The empty tile of each state on the path back is the cell it moves to
+            int length = 0;
+            for (int state = found; state != start; state = windowParents[state]) {
+                windowQueue[length++] = windowCells[state % size];
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                swapEmptyWith(windowQueue[i]);
+            }
+        }
+
+        /**
+         * Turn the tiles of the remaining 2x2 cells around until they are in place,
+         * the 12 solvable boards of 2x2 cells form a single cycle
+         */
+        private void solveLastSquare() {
+            int topLeft = (width - 2) + (height - 2) * width;
+            int[] cycle = {topLeft, topLeft + 1, topLeft + 1 + width, topLeft + width};
+            while (!(tiles[cycle[0]] == cycle[0] && tiles[cycle[1]] == cycle[1] && tiles[cycle[3]] == cycle[3])) {
+                int i = 0;
+                while (cycle[i] != emptyIndex) {
+                    i++;
+                }
+                swapEmptyWith(cycle[(i + 1) % cycle.length]);
+            }
+        }
+
+        /**
+         * Move the empty tile to a next cell and pass the move to the consumer
+         */
+        private void swapEmptyWith(int cell) {
+            int difference = cell - emptyIndex;
+            var direction = difference == -1 ? Direction.LEFT
+                    : difference == 1 ? Direction.RIGHT
+                    : difference < 0 ? Direction.UP
+                    : Direction.DOWN;
+
+            int tile = tiles[cell];
+            tiles[emptyIndex] = tile;
+            positions[tile] = emptyIndex;
+            tiles[cell] = emptyTile;
+            positions[emptyTile] = cell;
+            emptyIndex = cell;
+            consumer.accept(realDirections[direction.ordinal()]);
+        }
+    }
+}
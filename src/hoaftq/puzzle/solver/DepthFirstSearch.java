@@ -0,0 +1,195 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * One iteration of IDA*: a depth first search that cuts the nodes whose estimated total cost exceeds a bound.
+ * The board is modified in place while searching and restored afterward unless a solution is found
+ */
+class DepthFirstSearch {
+    static final int FOUND = -1;
+
+    /**
+     * Number of nodes expanded between two checks of the stop condition
+     */
+    static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * Lower bound of the parent of the starting board when the starting board has no parent
+     */
+    private static final int NO_PARENT = Integer.MAX_VALUE / 2;
+
+    private final int[] tiles;
+    private final int[] neighbors;
+    private final int emptyTile;
+    private final Heuristic heuristic;
+    private final LongPredicate stopCondition;
+    private final TranspositionTable table;
+    private final long[] keys;
+    private final int cellCount;
+
+    private int emptyIndex;
+    private long key;
+    private byte[] path;
+    private long nodes;
+    private boolean stopped;
+
+    /**
+     * Create a search
+     *
+     * @param shape         board shape
+     * @param neighbors     neighbor table of the board shape
+     * @param tiles         board to search from, it is modified by the search
+     * @param emptyIndex    cell of the empty tile on the board
+     * @param heuristic     heuristic used to estimate the remaining moves
+     * @param stopCondition called with the number of nodes expanded so far, every {@link #CHECK_INTERVAL} nodes.
+     *                      The search stops when it returns true
+     */
+    DepthFirstSearch(BoardShape shape,
+                     int[] neighbors,
+                     int[] tiles,
+                     int emptyIndex,
+                     Heuristic heuristic,
+                     LongPredicate stopCondition) {
+        this(shape, neighbors, tiles, emptyIndex, heuristic, stopCondition, null);
+    }
+
+    /**
+     * Create a search that saves the lower bounds it learns into a transposition table
+     * and uses them to cut the boards it meets again
+     *
+     * @param table transposition table, null to search without it
+     */
+    DepthFirstSearch(BoardShape shape,
+                     int[] neighbors,
+                     int[] tiles,
+                     int emptyIndex,
+                     Heuristic heuristic,
+                     LongPredicate stopCondition,
+                     TranspositionTable table) {
+        this.tiles = tiles;
+        this.neighbors = neighbors;
+        this.emptyTile = shape.emptyTile();
+        this.emptyIndex = emptyIndex;
+        this.heuristic = heuristic;
+        this.stopCondition = stopCondition;
+        this.table = table;
+        this.cellCount = shape.cellCount();
+        this.keys = table == null ? null : TranspositionTable.createKeys(shape);
+        if (keys != null) {
+            for (int i = 0; i < cellCount; i++) {
+                key ^= keys[i * cellCount + tiles[i]];
+            }
+        }
+    }
+
+    /**
+     * Run an iteration
+     *
+     * @param prefix            moves that led from the starting board to the board of this search
+     * @param estimate          estimation of the board of this search
+     * @param bound             maximum total cost of this iteration
+     * @param previousDirection direction of the last move of the prefix, -1 if there is none
+     * @return FOUND if a solution has been found, otherwise the smallest total cost exceeding the bound
+     */
+    int run(byte[] prefix, int estimate, int bound, int previousDirection) {
+        path = Arrays.copyOf(prefix, Math.max(bound, prefix.length) + 1);
+        return search(prefix.length, estimate, bound, previousDirection, previousDirection < 0 ? NO_PARENT : 0);
+    }
+
+    /**
+     * Directions of the solution including the prefix, valid after {@link #run} returned FOUND
+     */
+    byte[] getPath() {
+        return path;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * @param parentLowerBound lower bound of the parent board, a path going back through the parent
+     *                         needs at least one more move than it
+     */
+    private int search(int depth, int estimate, int bound, int previousDirection, int parentLowerBound) {
+        int lowerBound = table == null ? estimate : Math.max(estimate, table.get(key));
+        int cost = depth + lowerBound;
+        if (cost > bound) {
+            return cost;
+        }
+
+        if (estimate == 0) {
+            path = Arrays.copyOf(path, depth);
+            return FOUND;
+        }
+
+        if (++nodes % CHECK_INTERVAL == 0 && stopCondition.test(nodes)) {
+            stopped = true;
+            return Integer.MAX_VALUE;
+        }
+
+        int min = Integer.MAX_VALUE;
+        for (int direction = 0; direction < 4; direction++) {
+
+            // Directions are ordered in pairs of opposite directions, don't undo the previous move
+            int from = neighbors[emptyIndex * 4 + direction];
+            if (from < 0 || direction == (previousDirection ^ 1)) {
+                continue;
+            }
+
+            int to = emptyIndex;
+            int tile = tiles[from];
+            tiles[to] = tile;
+            tiles[from] = emptyTile;
+            emptyIndex = from;
+            path[depth] = (byte) direction;
+            long keyChange = keys == null ? 0 : keyChange(tile, from, to);
+            key ^= keyChange;
+
+            int result = search(depth + 1, heuristic.update(tiles, estimate, from, to), bound, direction, lowerBound);
+            if (result == FOUND) {
+                return FOUND;
+            }
+
+            key ^= keyChange;
+            tiles[from] = tile;
+            tiles[to] = emptyTile;
+            emptyIndex = to;
+            heuristic.undo(tiles, from, to);
+
+            if (stopped) {
+                return Integer.MAX_VALUE;
+            }
+
+            min = Math.min(min, result);
+        }
+
+        // No child finishes within the bound, so this board needs at least min - depth moves
+        // unless it goes back through its parent, which the children don't do
+        if (table != null && min != Integer.MAX_VALUE) {
+            int learned = Math.min(min - depth, parentLowerBound + 1);
+            if (learned > lowerBound) {
+                table.put(key, learned, bound - depth);
+            }
+        }
+
+        return min;
+    }
+
+    /**
+     * Change of the key when a tile moves into the empty cell
+     */
+    private long keyChange(int tile, int from, int to) {
+        return keys[from * cellCount + tile] ^ keys[to * cellCount + tile]
+               ^ keys[to * cellCount + emptyTile] ^ keys[from * cellCount + emptyTile];
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+/**
+ * Estimation of the number of moves needed to finish a board.
+ * An estimation must never be greater than the real number of moves and must be 0 only for a finished board.
+ * Implementations may keep internal buffers and the state of the last board they have seen, so an instance must be
+ * used by one thread at a time, and an update must follow the estimation, update or undo of the board it moves from
+ */
+public interface Heuristic {
+
+    /**
+     * Estimate a board from scratch
+     *
+     * @param tiles original cell indexes of the tiles placed at each cell
+     */
+    int estimate(int[] tiles);
+
+    /**
+     * Update an estimation after a tile has been moved into the empty cell
+     *
+     * @param tiles    board after the move
+     * @param estimate estimation of the board before the move
+     * @param from     cell where the tile was, it is the empty cell now
+     * @param to       cell where the tile is now
+     */
+    default int update(int[] tiles, int estimate, int from, int to) {
+        return estimate(tiles);
+    }
+
+    /**
+     * Take back an update after its tile has been moved back, so that the heuristic is at the board before the move
+     *
+     * @param tiles board before the move again
+     * @param from  cell where the tile is again
+     * @param to    cell where the tile was moved by the update, it is the empty cell again
+     */
+    default void undo(int[] tiles, int from, int to) {
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+import hoaftq.puzzle.solver.pdb.PatternDatabaseHeuristic;
+import hoaftq.puzzle.solver.pdb.PatternDatabases;
+import hoaftq.puzzle.solver.wd.WalkingDistanceHeuristic;
+import hoaftq.puzzle.solver.wd.WalkingDistanceTables;
+
+/**
+ * Heuristics that can be used by the solvers
+ */
+public enum HeuristicType {
+    MANHATTAN,
+    MANHATTAN_LINEAR_CONFLICT,
+
+    /**
+     * Additive pattern databases, Manhattan distance with linear conflicts is used until they are ready
+     */
+    PATTERN_DATABASE,
+
+    /**
+     * Walking distances of the rows and the columns, Manhattan distance with linear conflicts is used
+     * for the boards whose walking distance tables would be too large
+     */
+    WALKING_DISTANCE;
+
+    /**
+     * Create a new heuristic instance for a board shape
+     */
+    public Heuristic create(BoardShape shape) {
+        return switch (this) {
+            case MANHATTAN -> new ManhattanHeuristic(shape, false);
+            case MANHATTAN_LINEAR_CONFLICT -> new ManhattanHeuristic(shape, true);
+            case PATTERN_DATABASE -> PatternDatabases.get(shape)
+                    .<Heuristic>map(databases -> new PatternDatabaseHeuristic(shape, databases))
+                    .orElseGet(() -> new ManhattanHeuristic(shape, true));
+            case WALKING_DISTANCE -> WalkingDistanceTables.isSupported(shape)
+                    ? new WalkingDistanceHeuristic(shape)
+                    : new ManhattanHeuristic(shape, true);
+        };
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+import hoaftq.puzzle.game.Direction;
+import hoaftq.puzzle.game.GameLogic;
+
+import java.util.List;
+
+/**
+ * Optimal solver using iterative deepening A*.
+ * Each iteration is a depth first search that cuts the nodes whose estimated total cost exceeds a bound,
+ * the bound is increased to the smallest exceeded cost until a solution is found.
+ * <p>
+ * With Manhattan distance and linear conflicts, a random 4x4 board takes a few seconds on average and up to half
+ * a minute. Solving 4x4 boards in milliseconds needs {@link HeuristicType#PATTERN_DATABASE}
+ */
+public class IdaStarSolver implements Solver {
+    private static final byte[] NO_MOVES = new byte[0];
+
+    private final HeuristicType heuristicType;
+    private final long nodeLimit;
+    private final int moveLimit;
+    private final TranspositionTable table;
+
+    /**
+     * Board shape the entries of the transposition table belong to
+     */
+    private BoardShape tableShape;
+
+    private volatile boolean cancelled;
+
+    public IdaStarSolver() {
+        this(HeuristicType.MANHATTAN_LINEAR_CONFLICT, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a solver
+     *
+     * @param heuristicType heuristic used to estimate the remaining moves
+     * @param nodeLimit     maximum number of nodes to expand before giving up
+     */
+    public IdaStarSolver(HeuristicType heuristicType, long nodeLimit) {
+        this(heuristicType, nodeLimit, null);
+    }
+
+    /**
+     * Create a solver caching the lower bounds it learns in a transposition table.
+     * The entries are kept between solves of boards of the same shape, as they don't depend on the starting board
+     *
+     * @param heuristicType heuristic used to estimate the remaining moves
+     * @param nodeLimit     maximum number of nodes to expand before giving up
+     * @param table         transposition table, null to search without it
+     */
+    public IdaStarSolver(HeuristicType heuristicType, long nodeLimit, TranspositionTable table) {
+        this(heuristicType, nodeLimit, Integer.MAX_VALUE, table);
+    }
+
+    /**
+     * Create a solver that gives up as soon as it knows that the board needs more moves than a limit.
+     * The iterations past the limit are the most expensive ones, so it is much faster than a node limit
+     * to reject long solutions
+     *
+     * @param heuristicType heuristic used to estimate the remaining moves
+     * @param nodeLimit     maximum number of nodes to expand before giving up
+     * @param moveLimit     maximum number of moves of the solution
+     * @param table         transposition table, null to search without it
+     */
+    public IdaStarSolver(HeuristicType heuristicType, long nodeLimit, int moveLimit, TranspositionTable table) {
+        this.heuristicType = heuristicType;
+        this.nodeLimit = nodeLimit;
+        this.moveLimit = moveLimit;
+        this.table = table;
+    }
+
+    @Override
+    public Solution solve(GameLogic gameLogic) {
+        long startTime = System.nanoTime();
+        var shape = BoardShape.of(gameLogic);
+        var tiles = BoardShape.tilesOf(gameLogic);
+        if (!shape.isSolvable(tiles, gameLogic.getEmptyIndex())) {
+            return new Solution(Solution.Status.UNSOLVABLE, List.of(), 0, System.nanoTime() - startTime);
+        }
+
+        var usedTable = table != null && TranspositionTable.isSupported(shape) ? table : null;
+        if (usedTable != null && !shape.equals(tableShape)) {
+            usedTable.clear();
+            tableShape = shape;
+        }
+
+        var heuristic = heuristicType.create(shape);
+        var search = new DepthFirstSearch(shape,
+                shape.createNeighborTable(),
+                tiles,
+                gameLogic.getEmptyIndex(),
+                heuristic,
+                nodes -> cancelled || Thread.currentThread().isInterrupted() || nodes >= nodeLimit,
+                usedTable);
+
+        int estimate = heuristic.estimate(tiles);
+        int bound = estimate;
+        while (true) {
+            if (bound > moveLimit) {
+                return new Solution(Solution.Status.MOVE_LIMIT_REACHED, List.of(), search.getNodes(),
+                        System.nanoTime() - startTime);
+            }
+
+            int result = search.run(NO_MOVES, estimate, bound, -1);
+            if (result == DepthFirstSearch.FOUND) {
+                return new Solution(Solution.Status.SOLVED,
+                        toMoves(search.getPath()),
+                        search.getNodes(),
+                        System.nanoTime() - startTime);
+            }
+
+            if (search.isStopped()) {
+                var status = search.getNodes() >= nodeLimit
+                        ? Solution.Status.NODE_LIMIT_REACHED
+                        : Solution.Status.CANCELLED;
+                return new Solution(status, List.of(), search.getNodes(), System.nanoTime() - startTime);
+            }
+
+            bound = result;
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    static List<Direction> toMoves(byte[] path) {
+        var directions = Direction.values();
+        var moves = new Direction[path.length];
+        for (int i = 0; i < path.length; i++) {
+            moves[i] = directions[path[i]];
+        }
+
+        return List.of(moves);
+    }
+}
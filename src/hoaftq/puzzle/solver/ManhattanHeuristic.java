@@ -0,0 +1,136 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+/**
+ * Sum of the Manhattan distances of all the tiles to their original cells,
+ * optionally increased by linear conflicts.
+ * Tiles in the same row as their original row but in a wrong order can't pass each other without leaving the row,
+ * every tile that has to leave the row costs 2 more moves. The same applies to columns
+ */
+public class ManhattanHeuristic implements Heuristic {
+    private final int width;
+    private final int height;
+    private final int emptyTile;
+    private final boolean linearConflict;
+
+    /**
+     * Buffers used to find the longest increasing sequence of tiles on a line
+     */
+    private final int[] lineBuffer;
+    private final int[] tailsBuffer;
+
+    public ManhattanHeuristic(BoardShape shape, boolean linearConflict) {
+        this.width = shape.width();
+        this.height = shape.height();
+        this.emptyTile = shape.emptyTile();
+        this.linearConflict = linearConflict;
+
+        lineBuffer = new int[Math.max(width, height)];
+        tailsBuffer = new int[Math.max(width, height)];
+    }
+
+    @Override
+    public int estimate(int[] tiles) {
+        int estimate = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] != emptyTile) {
+                estimate += distance(tiles[i], i);
+            }
+        }
+
+        if (linearConflict) {
+            for (int y = 0; y < height; y++) {
+                estimate += rowConflicts(tiles, y);
+            }
+            for (int x = 0; x < width; x++) {
+                estimate += columnConflicts(tiles, x);
+            }
+        }
+
+        return estimate;
+    }
+
+    @Override
+    public int update(int[] tiles, int estimate, int from, int to) {
+        int tile = tiles[to];
+        estimate += distance(tile, to) - distance(tile, from);
+        if (!linearConflict) {
+            return estimate;
+        }
+
+        // A horizontal move only changes the conflicts of the two columns, a vertical move the ones of the two rows
+        boolean horizontal = from / width == to / width;
+        estimate += lineConflicts(tiles, from, horizontal) + lineConflicts(tiles, to, horizontal);
+
+        // Conflicts before the move
+        tiles[from] = tile;
+        tiles[to] = emptyTile;
+        estimate -= lineConflicts(tiles, from, horizontal) + lineConflicts(tiles, to, horizontal);
+        tiles[from] = emptyTile;
+        tiles[to] = tile;
+
+        return estimate;
+    }
+
+    private int distance(int tile, int index) {
+        return Math.abs(tile % width - index % width) + Math.abs(tile / width - index / width);
+    }
+
+    private int lineConflicts(int[] tiles, int index, boolean column) {
+        return column ? columnConflicts(tiles, index % width) : rowConflicts(tiles, index / width);
+    }
+
+    private int rowConflicts(int[] tiles, int y) {
+        int count = 0;
+        for (int x = 0; x < width; x++) {
+            int tile = tiles[x + y * width];
+            if (tile != emptyTile && tile / width == y) {
+                lineBuffer[count++] = tile % width;
+            }
+        }
+
+        return 2 * (count - longestIncreasingLength(count));
+    }
+
+    private int columnConflicts(int[] tiles, int x) {
+        int count = 0;
+        for (int y = 0; y < height; y++) {
+            int tile = tiles[x + y * width];
+            if (tile != emptyTile && tile % width == x) {
+                lineBuffer[count++] = tile / width;
+            }
+        }
+
+        return 2 * (count - longestIncreasingLength(count));
+    }
+
+    /**
+     * Length of the longest increasing subsequence of the first count values of the line buffer.
+     * All the other tiles have to leave the line to let the tiles of the sequence reach their places
+     */
+    private int longestIncreasingLength(int count) {
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            int value = lineBuffer[i];
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (tailsBuffer[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            tailsBuffer[low] = value;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+import hoaftq.puzzle.game.Direction;
+import hoaftq.puzzle.game.GameLogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Optimal solver running IDA* iterations on several threads.
+ * The boards a few moves away from the starting board form a frontier, each iteration searches the frontier
+ * boards as work stealing tasks that share the bound of the iteration. All the tasks stop as soon as one of them
+ * finds a solution, which is optimal because no solution exists under the bound of the iteration
+ */
+public class ParallelIdaStarSolver implements Solver {
+
+    /**
+     * Number of frontier boards per thread, enough for the threads to balance uneven subtrees
+     */
+    private static final int FRONTIER_BOARDS_PER_THREAD = 64;
+
+    private final HeuristicType heuristicType;
+    private final long nodeLimit;
+    private final int parallelism;
+
+    private volatile boolean cancelled;
+
+    public ParallelIdaStarSolver(int parallelism) {
+        this(HeuristicType.MANHATTAN_LINEAR_CONFLICT, Long.MAX_VALUE, parallelism);
+    }
+
+    /**
+     * Create a solver
+     *
+     * @param heuristicType heuristic used to estimate the remaining moves
+     * @param nodeLimit     maximum number of nodes to expand before giving up
+     * @param parallelism   number of threads searching at the same time
+     */
+    public ParallelIdaStarSolver(HeuristicType heuristicType, long nodeLimit, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+
+        this.heuristicType = heuristicType;
+        this.nodeLimit = nodeLimit;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public Solution solve(GameLogic gameLogic) {
+        long startTime = System.nanoTime();
+        var shape = BoardShape.of(gameLogic);
+        var tiles = BoardShape.tilesOf(gameLogic);
+        if (!shape.isSolvable(tiles, gameLogic.getEmptyIndex())) {
+            return new Solution(Solution.Status.UNSOLVABLE, List.of(), 0, System.nanoTime() - startTime);
+        }
+
+        var search = new Search(shape, tiles, gameLogic.getEmptyIndex());
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            var status = search.run(pool);
+            var moves = status == Solution.Status.SOLVED
+                    ? IdaStarSolver.toMoves(search.solution.get())
+                    : List.<Direction>of();
+            return new Solution(status, moves, search.nodes.get(), System.nanoTime() - startTime);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * A board of the frontier
+     *
+     * @param tiles             board
+     * @param emptyIndex        cell of the empty tile
+     * @param path              moves from the starting board
+     * @param estimate          estimation of the board
+     * @param previousDirection direction of the last move, -1 for the starting board
+     */
+    private record FrontierBoard(int[] tiles, int emptyIndex, byte[] path, int estimate, int previousDirection) {
+    }
+
+    /**
+     * State of a search shared by all the tasks
+     */
+    private class Search {
+        private final BoardShape shape;
+        private final int[] neighbors;
+        private final Heuristic heuristic;
+        private final AtomicLong nodes = new AtomicLong();
+        private final AtomicReference<byte[]> solution = new AtomicReference<>();
+        private final AtomicInteger nextBound = new AtomicInteger();
+        private volatile boolean stopped;
+
+        private final int rootEstimate;
+        private List<FrontierBoard> frontier;
+
+        Search(BoardShape shape, int[] tiles, int emptyIndex) {
+            this.shape = shape;
+            this.neighbors = shape.createNeighborTable();
+            this.heuristic = heuristicType.create(shape);
+
+            rootEstimate = heuristic.estimate(tiles);
+            frontier = List.of(new FrontierBoard(tiles, emptyIndex, new byte[0], rootEstimate, -1));
+        }
+
+        Solution.Status run(ForkJoinPool pool) {
+            if (expandFrontier()) {
+                return Solution.Status.SOLVED;
+            }
+
+            int bound = rootEstimate;
+            while (true) {
+                nextBound.set(Integer.MAX_VALUE);
+                pool.invoke(new FrontierTask(0, frontier.size(), bound));
+
+                if (solution.get() != null) {
+                    return Solution.Status.SOLVED;
+                }
+
+                if (stopped) {
+                    return nodes.get() >= nodeLimit ? Solution.Status.NODE_LIMIT_REACHED : Solution.Status.CANCELLED;
+                }
+
+                bound = nextBound.get();
+            }
+        }
+
+        /**
+         * Expand the frontier breadth first until there are enough boards for all the threads.
+         * A solution shorter than the frontier depth is found on the way
+         *
+         * @return true if a solution has been found
+         */
+        private boolean expandFrontier() {
+            while (frontier.size() < parallelism * FRONTIER_BOARDS_PER_THREAD) {
+                var nextFrontier = new ArrayList<FrontierBoard>();
+                for (var board : frontier) {
+                    if (board.estimate() == 0) {
+                        solution.set(board.path());
+                        return true;
+                    }
+
+                    for (int direction = 0; direction < 4; direction++) {
+                        int from = neighbors[board.emptyIndex() * 4 + direction];
+                        if (from < 0 || direction == (board.previousDirection() ^ 1)) {
+                            continue;
+                        }
+
+                        var tiles = board.tiles().clone();
+                        tiles[board.emptyIndex()] = tiles[from];
+                        tiles[from] = shape.emptyTile();
+
+                        var path = Arrays.copyOf(board.path(), board.path().length + 1);
+                        path[path.length - 1] = (byte) direction;
+
+                        // The boards of the frontier don't follow each other, so each one is estimated from scratch
+                        int estimate = heuristic.estimate(tiles);
+                        nodes.incrementAndGet();
+                        nextFrontier.add(new FrontierBoard(tiles, from, path, estimate, direction));
+                    }
+                }
+                frontier = nextFrontier;
+            }
+
+            return false;
+        }
+
+        private void search(FrontierBoard board, int bound) {
+            if (stopped || solution.get() != null) {
+                return;
+            }
+
+            // The heuristic of the task may not be the one that estimated the frontier, the pattern databases can
+            // get ready in the meantime, so the board is estimated again by the heuristic that updates it
+            var heuristic = heuristicType.create(shape);
+            var tiles = board.tiles().clone();
+            var search = new DepthFirstSearch(shape,
+                    neighbors,
+                    tiles,
+                    board.emptyIndex(),
+                    heuristic,
+                    this::shouldStop);
+            int result = search.run(board.path(), heuristic.estimate(tiles), bound, board.previousDirection());
+            nodes.addAndGet(search.getNodes() % DepthFirstSearch.CHECK_INTERVAL);
+
+            if (result == DepthFirstSearch.FOUND) {
+                solution.compareAndSet(null, search.getPath());
+            } else {
+                nextBound.accumulateAndGet(result, Math::min);
+            }
+        }
+
+        /**
+         * Called by every task each time it has expanded another batch of nodes
+         */
+        private boolean shouldStop(long taskNodes) {
+            if (nodes.addAndGet(DepthFirstSearch.CHECK_INTERVAL) >= nodeLimit || cancelled) {
+                stopped = true;
+            }
+
+            return stopped || solution.get() != null;
+        }
+
+        /**
+         * Search a range of the frontier, split in halves so that idle threads can steal them
+         */
+        private class FrontierTask extends RecursiveAction {
+            private final int from;
+            private final int to;
+            private final int bound;
+
+            FrontierTask(int from, int to, int bound) {
+                this.from = from;
+                this.to = to;
+                this.bound = bound;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from == 1) {
+                    search(frontier.get(from), bound);
+                    return;
+                }
+
+                int middle = (from + to) >>> 1;
+                invokeAll(new FrontierTask(from, middle, bound), new FrontierTask(middle, to, bound));
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+import hoaftq.puzzle.game.Direction;
+
+import java.util.List;
+
+/**
+ * Result of a solver
+ *
+ * @param status       how the search ended
+ * @param moves        moves of the empty tile that finish the board, empty if the board has not been solved
+ * @param nodes        number of nodes expanded during the search
+ * @param elapsedNanos time spent on the search
+ */
+public record Solution(Status status, List<Direction> moves, long nodes, long elapsedNanos) {
+
+    public enum Status {
+        SOLVED,
+        CANCELLED,
+        NODE_LIMIT_REACHED,
+
+        /**
+         * The board has no solution within the maximum number of moves given to the solver
+         */
+        MOVE_LIMIT_REACHED,
+        UNSOLVABLE
+    }
+
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    /**
+     * Search throughput in nodes per second
+     */
+    public double nodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s in %d moves, %d nodes, %.1f ms, %.0f nodes/s",
+                status, moves.size(), nodes, elapsedNanos / 1e6, nodesPerSecond());
+    }
+}
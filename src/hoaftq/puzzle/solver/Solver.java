@@ -0,0 +1,23 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+import hoaftq.puzzle.game.GameLogic;
+
+/**
+ * Find a sequence of moves that finishes a game board
+ */
+public interface Solver {
+
+    /**
+     * Solve the current board of a game logic, the game logic is not modified
+     */
+    Solution solve(GameLogic gameLogic);
+
+    /**
+     * Stop the running search as soon as possible.
+     * A cancelled solver stays cancelled, create another one to solve again
+     */
+    void cancel();
+}
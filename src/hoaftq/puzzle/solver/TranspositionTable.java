@@ -0,0 +1,178 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.SplittableRandom;
+
+/**
+ * Fixed size cache of the lower bounds learned by the searches, stored outside the heap.
+ * <p>
+ * Entries are open addressed in a window of {@link #PROBE_LENGTH} slots starting from the hash of the board key.
+ * A slot is 16 bytes: the key, the lower bound of the number of moves to finish the board and the depth of the
+ * search that learned it. Lower bounds don't depend on the iteration, so entries are kept across iterations.
+ * A table must be used by one thread at a time
+ */
+public class TranspositionTable {
+
+    /**
+     * Which entry is evicted when all the slots of a window are used
+     */
+    public enum ReplacementPolicy {
+
+        /**
+         * The new entry always replaces the entry at the hash of its key
+         */
+        ALWAYS_REPLACE,
+
+        /**
+         * The new entry replaces the shallowest entry of the window, unless that one is deeper than the new entry.
+         * Deep entries saved the most work, so they are kept
+         */
+        DEPTH_PREFERRED
+    }
+
+    /**
+     * Largest board that keys can be calculated for, the key table has cellCount * cellCount entries
+     */
+    public static final int MAX_CELLS = 256;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int PROBE_LENGTH = 4;
+    private static final int MAX_ENTRIES = 1 << 26;
+
+    private final ByteBuffer buffer;
+    private final int mask;
+    private final int indexShift;
+    private final ReplacementPolicy policy;
+
+    /**
+     * Create a table
+     *
+     * @param sizeMb size of the table in MB, it is rounded down to a power of two number of entries up to 1 GB
+     * @param policy replacement policy
+     */
+    public TranspositionTable(int sizeMb, ReplacementPolicy policy) {
+        if (sizeMb < 1) {
+            throw new IllegalArgumentException("Size of the transposition table must be at least 1 MB.");
+        }
+
+        int entryCount = Integer.highestOneBit((int) Math.min((long) sizeMb * 1024 * 1024 / ENTRY_BYTES, MAX_ENTRIES));
+        buffer = ByteBuffer.allocateDirect(entryCount * ENTRY_BYTES).order(ByteOrder.nativeOrder());
+        mask = entryCount - 1;
+        indexShift = 64 - Integer.numberOfTrailingZeros(entryCount);
+        this.policy = policy;
+    }
+
+    /**
+     * Create the keys of all the tiles at all the cells, the key of a board is the xor of the keys of its tiles.
+     * Boards up to 16 cells get their packed states as keys so that they never collide,
+     * larger boards get random 64 bits keys. A collision of those is very unlikely, but it could make a solution
+     * found with the table not optimal
+     *
+     * @return key of tile t at cell c at c * cellCount + t
+     */
+    public static long[] createKeys(BoardShape shape) {
+        int cellCount = shape.cellCount();
+        if (cellCount > MAX_CELLS) {
+            throw new IllegalArgumentException("Transposition tables are not supported for " + shape);
+        }
+
+        var keys = new long[cellCount * cellCount];
+        var random = new SplittableRandom(cellCount);
+        for (int cell = 0; cell < cellCount; cell++) {
+            for (int tile = 0; tile < cellCount; tile++) {
+                keys[cell * cellCount + tile] = cellCount <= 16 ? (long) tile << (cell * 4) : random.nextLong();
+            }
+        }
+
+        return keys;
+    }
+
+    public static boolean isSupported(BoardShape shape) {
+        return shape.cellCount() <= MAX_CELLS;
+    }
+
+    /**
+     * Number of entries the table can hold
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Get the lower bound saved for a board
+     *
+     * @return lower bound of the number of moves to finish the board, 0 if the board is not in the table
+     */
+    public int get(long key) {
+        int home = home(key);
+        for (int i = 0; i < PROBE_LENGTH; i++) {
+            int offset = ((home + i) & mask) * ENTRY_BYTES;
+            if (buffer.getInt(offset + 12) != 0 && buffer.getLong(offset) == key) {
+                return buffer.getInt(offset + 8);
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Save the lower bound of a board
+     *
+     * @param lowerBound lower bound of the number of moves to finish the board
+     * @param depth      number of moves the search that learned the lower bound could still make
+     */
+    public void put(long key, int lowerBound, int depth) {
+        int home = home(key);
+        int victim = -1;
+        int victimDepth = Integer.MAX_VALUE;
+        for (int i = 0; i < PROBE_LENGTH; i++) {
+            int offset = ((home + i) & mask) * ENTRY_BYTES;
+
+            // Depths are saved plus 1, so that 0 marks an empty slot
+            int slotDepth = buffer.getInt(offset + 12) - 1;
+            if (slotDepth < 0 || buffer.getLong(offset) == key) {
+                if (slotDepth < 0 || lowerBound > buffer.getInt(offset + 8)) {
+                    write(offset, key, lowerBound, Math.max(depth, slotDepth));
+                }
+                return;
+            }
+
+            if (slotDepth < victimDepth) {
+                victim = offset;
+                victimDepth = slotDepth;
+            }
+        }
+
+        switch (policy) {
+            case ALWAYS_REPLACE -> write(home * ENTRY_BYTES, key, lowerBound, depth);
+            case DEPTH_PREFERRED -> {
+                if (victimDepth <= depth) {
+                    write(victim, key, lowerBound, depth);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all the entries
+     */
+    public void clear() {
+        for (int offset = 12; offset < buffer.capacity(); offset += ENTRY_BYTES) {
+            buffer.putInt(offset, 0);
+        }
+    }
+
+    private int home(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> indexShift) & mask;
+    }
+
+    private void write(int offset, long key, int lowerBound, int depth) {
+        buffer.putLong(offset, key);
+        buffer.putInt(offset + 8, lowerBound);
+        buffer.putInt(offset + 12, depth + 1);
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver.exact;
+
+import hoaftq.puzzle.solver.BoardShape;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Exact number of moves to finish every solvable board of a small board shape.
+ * <p>
+ * A board is indexed by the cell of the empty tile and the rank of the order of the other tiles. For a given
+ * cell of the empty tile only half of the orders are solvable, and swapping the last two tiles of an order
+ * switches between the solvable and the unsolvable half, so the rank is divided by 2. The table has one byte
+ * per solvable board, which is 181,440 bytes for 3x3
+ */
+public class ExactDistanceTable {
+    private static final int MAGIC = 0x45445431;
+    private static final byte UNVISITED = -1;
+
+    /**
+     * Largest board whose table can be generated, 10 cells have 1,814,400 solvable boards
+     */
+    public static final int MAX_CELLS = 10;
+
+    private final BoardShape shape;
+    private final ByteBuffer distances;
+
+    /**
+     * Number of solvable orders of the tiles for a cell of the empty tile
+     */
+    private final int ordersPerEmptyCell;
+
+    /**
+     * factorials[i] is i!
+     */
+    private final int[] factorials;
+
+    ExactDistanceTable(BoardShape shape, ByteBuffer distances) {
+        this.shape = shape;
+        this.distances = distances;
+
+        int cellCount = shape.cellCount();
+        factorials = new int[cellCount];
+        factorials[0] = 1;
+        for (int i = 1; i < cellCount; i++) {
+            factorials[i] = factorials[i - 1] * i;
+        }
+        ordersPerEmptyCell = factorials[cellCount - 1] / 2;
+    }
+
+    public static boolean isSupported(BoardShape shape) {
+        return shape.cellCount() <= MAX_CELLS;
+    }
+
+    public BoardShape getShape() {
+        return shape;
+    }
+
+    /**
+     * Get number of solvable boards
+     */
+    public int size() {
+        return ordersPerEmptyCell * shape.cellCount();
+    }
+
+    /**
+     * Get the number of moves of an optimal solution of a board
+     *
+     * @param tiles original cell indexes of the tiles placed at each cell, the board must be solvable
+     */
+    public int distance(int[] tiles) {
+        return distances.get(index(tiles));
+    }
+
+    /**
+     * Index of a solvable board
+     */
+    private int index(int[] tiles) {
+        int emptyTile = shape.emptyTile();
+        int emptyIndex = 0;
+        while (tiles[emptyIndex] != emptyTile) {
+            emptyIndex++;
+        }
+
+        // Lehmer code of the order of the tiles without the empty one,
+        // the digit of the last two tiles is dropped as it only chooses the half
+        int rank = 0;
+        int position = 0;
+        for (int i = 0; i < tiles.length && position < tiles.length - 3; i++) {
+            if (i == emptyIndex) {
+                continue;
+            }
+
+            int digit = 0;
+            for (int j = i + 1; j < tiles.length; j++) {
+                if (j != emptyIndex && tiles[j] < tiles[i]) {
+                    digit++;
+                }
+            }
+            rank += digit * factorials[tiles.length - 2 - position];
+            position++;
+        }
+
+        return emptyIndex * ordersPerEmptyCell + rank / 2;
+    }
+
+    /**
+     * Generate the table with a breadth first search from the finished board
+     */
+    static ExactDistanceTable generate(BoardShape shape) {
+        if (!isSupported(shape)) {
+            throw new IllegalArgumentException("Exact distance tables are not supported for " + shape);
+        }
+
+        int cellCount = shape.cellCount();
+        var neighbors = shape.createNeighborTable();
+        var entries = new byte[factorial(cellCount - 1) / 2 * cellCount];
+        Arrays.fill(entries, UNVISITED);
+        var table = new ExactDistanceTable(shape, ByteBuffer.wrap(entries));
+
+        // Boards are queued packed into longs, 4 bits per cell
+        var queue = new long[entries.length];
+        var tiles = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            tiles[i] = i;
+        }
+        queue[0] = pack(tiles);
+        entries[table.index(tiles)] = 0;
+
+        for (int head = 0, tail = 1; head < tail; head++) {
+            unpack(queue[head], tiles);
+            int emptyIndex = 0;
+            while (tiles[emptyIndex] != shape.emptyTile()) {
+                emptyIndex++;
+            }
+            int distance = entries[table.index(tiles)];
+
+            for (int direction = 0; direction < 4; direction++) {
+                int from = neighbors[emptyIndex * 4 + direction];
+                if (from < 0) {
+                    continue;
+                }
+
+                tiles[emptyIndex] = tiles[from];
+                tiles[from] = shape.emptyTile();
+                int index = table.index(tiles);
+                if (entries[index] == UNVISITED) {
+                    entries[index] = (byte) (distance + 1);
+                    queue[tail++] = pack(tiles);
+                }
+                tiles[from] = tiles[emptyIndex];
+                tiles[emptyIndex] = shape.emptyTile();
+            }
+        }
+
+        return table;
+    }
+
+    private static int factorial(int n) {
+        int result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+
+        return result;
+    }
+
+    private static long pack(int[] tiles) {
+        long packed = 0;
+        for (int i = tiles.length - 1; i >= 0; i--) {
+            packed = (packed << 4) | tiles[i];
+        }
+
+        return packed;
+    }
+
+    private static void unpack(long packed, int[] tiles) {
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = (int) (packed & 0xF);
+            packed >>>= 4;
+        }
+    }
+
+    void write(OutputStream outputStream) throws IOException {
+        var stream = new DataOutputStream(outputStream);
+        stream.writeInt(MAGIC);
+        stream.writeInt(shape.width());
+        stream.writeInt(shape.height());
+        stream.writeInt(shape.emptyTile());
+        var entries = new byte[size()];
+        distances.get(0, entries);
+        stream.write(entries);
+        stream.flush();
+    }
+
+    /**
+     * Map a table file into memory, the entries are not copied to the heap
+     */
+    static ExactDistanceTable map(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Invalid exact distance table " + file);
+            }
+
+            var shape = new BoardShape(buffer.getInt(), buffer.getInt(), buffer.getInt());
+            var table = new ExactDistanceTable(shape, buffer.slice());
+            if (table.distances.capacity() != table.size()) {
+                throw new IOException("Truncated exact distance table " + file);
+            }
+
+            return table;
+        }
+    }
+}
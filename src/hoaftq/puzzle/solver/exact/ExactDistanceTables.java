@@ -0,0 +1,98 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver.exact;
+
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.solver.BoardShape;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exact distance tables shared by the solvers, the hint engine and the difficulty ratings.
+ * A table is generated once, saved in the working directory next to Puzzle.properties and mapped into memory
+ */
+public final class ExactDistanceTables {
+    private static final Path DIRECTORY = Path.of(System.getProperty("puzzle.exact.dir", ""));
+
+    private static final Map<BoardShape, ExactDistanceTable> tables = new ConcurrentHashMap<>();
+
+    private ExactDistanceTables() {
+    }
+
+    public static boolean isSupported(BoardShape shape) {
+        return ExactDistanceTable.isSupported(shape);
+    }
+
+    /**
+     * Get the table of a board shape, loading or generating it at first use
+     */
+    public static ExactDistanceTable get(BoardShape shape) {
+        if (!isSupported(shape)) {
+            throw new IllegalArgumentException("Exact distance tables are not supported for " + shape);
+        }
+
+        return tables.computeIfAbsent(shape, s -> {
+            try {
+                return loadOrGenerate(s);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Get the number of moves of an optimal solution of the board of a game logic
+     *
+     * @return the number of moves, empty if the board shape is not supported or the board is not solvable
+     */
+    public static OptionalInt distance(GameLogic gameLogic) {
+        var shape = BoardShape.of(gameLogic);
+        var tiles = BoardShape.tilesOf(gameLogic);
+        if (!isSupported(shape) || !shape.isSolvable(tiles, gameLogic.getEmptyIndex())) {
+            return OptionalInt.empty();
+        }
+
+        return OptionalInt.of(get(shape).distance(tiles));
+    }
+
+    private static ExactDistanceTable loadOrGenerate(BoardShape shape) throws IOException {
+        var file = DIRECTORY.resolve("Puzzle-exact-" + shape.width() + "x" + shape.height()
+                                     + "-" + shape.emptyTilePosition() + ".dat");
+        if (Files.exists(file)) {
+            try {
+                var table = ExactDistanceTable.map(file);
+                if (!table.getShape().equals(shape)) {
+                    throw new IOException("Exact distance table " + file + " is for " + table.getShape()
+                                          + " instead of " + shape);
+                }
+
+                return table;
+            } catch (IOException e) {
+
+                // A broken file is generated again
+                e.printStackTrace();
+            }
+        }
+
+        var table = ExactDistanceTable.generate(shape);
+
+        // Write to a temporary file first, so that a process never maps a partially written file
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        var temporaryFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (var stream = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+            table.write(stream);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return ExactDistanceTable.map(file);
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver.exact;
+
+import hoaftq.puzzle.game.Direction;
+import hoaftq.puzzle.game.GameLogic;
+import hoaftq.puzzle.solver.BoardShape;
+import hoaftq.puzzle.solver.Solution;
+import hoaftq.puzzle.solver.Solver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optimal solver for small boards without any search.
+ * Each move goes to the neighbor board whose exact distance is one less, so solving takes one table lookup per
+ * direction and move
+ */
+public class ExactSolver implements Solver {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private volatile boolean cancelled;
+
+    @Override
+    public Solution solve(GameLogic gameLogic) {
+        long startTime = System.nanoTime();
+        var shape = BoardShape.of(gameLogic);
+        var tiles = BoardShape.tilesOf(gameLogic);
+        int emptyIndex = gameLogic.getEmptyIndex();
+        if (!shape.isSolvable(tiles, emptyIndex)) {
+            return new Solution(Solution.Status.UNSOLVABLE, List.of(), 0, System.nanoTime() - startTime);
+        }
+
+        var table = ExactDistanceTables.get(shape);
+        var neighbors = shape.createNeighborTable();
+        var moves = new ArrayList<Direction>();
+        long lookups = 0;
+        for (int distance = table.distance(tiles); distance > 0; distance--) {
+            if (cancelled) {
+                return new Solution(Solution.Status.CANCELLED, List.of(), lookups, System.nanoTime() - startTime);
+            }
+
+            int next = -1;
+            for (int direction = 0; direction < 4 && next < 0; direction++) {
+                int from = neighbors[emptyIndex * 4 + direction];
+                if (from < 0) {
+                    continue;
+                }
+
+                tiles[emptyIndex] = tiles[from];
+                tiles[from] = shape.emptyTile();
+                lookups++;
+                if (table.distance(tiles) == distance - 1) {
+                    moves.add(DIRECTIONS[direction]);
+                    next = from;
+                } else {
+                    tiles[from] = tiles[emptyIndex];
+                    tiles[emptyIndex] = shape.emptyTile();
+                }
+            }
+
+            // Only a table that doesn't belong to the board shape has no move getting closer to the finished board
+            if (next < 0) {
+                throw new IllegalStateException("No move decreases the distance of " + distance + " in the table of "
+                                                + table.getShape());
+            }
+            emptyIndex = next;
+        }
+
+        return new Solution(Solution.Status.SOLVED, List.copyOf(moves), lookups, System.nanoTime() - startTime);
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver.pdb;
+
+import hoaftq.puzzle.solver.BoardShape;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Exact number of moves of a subset of the tiles (a pattern) needed to reach their original cells,
+ * counting only the moves of the pattern tiles so that disjoint patterns can be added together.
+ * <p>
+ * Entries are indexed by the ranks of the cells of the pattern tiles. Such a number is never smaller than
+ * the Manhattan distance of the pattern tiles and has the same parity, so an entry only stores the half of
+ * their difference in 4 bits
+ */
+public class PatternDatabase {
+    private static final int MAGIC = 0x50444231;
+    private static final int MAX_ENTRY = 15;
+
+    private final BoardShape shape;
+    private final int[] pattern;
+    private final ByteBuffer entries;
+
+    PatternDatabase(BoardShape shape, int[] pattern, ByteBuffer entries) {
+        this.shape = shape;
+        this.pattern = pattern;
+        this.entries = entries;
+    }
+
+    public BoardShape getShape() {
+        return shape;
+    }
+
+    /**
+     * Get the original cell indexes of the pattern tiles
+     */
+    public int[] getPattern() {
+        return pattern.clone();
+    }
+
+    /**
+     * Get number of moves of the pattern tiles
+     *
+     * @param cells current cell of each pattern tile, in the same order as the pattern
+     */
+    public int distance(int[] cells) {
+        int index = rank(cells, pattern.length, shape.cellCount());
+        int entry = (entries.get(index >>> 1) >>> ((index & 1) << 2)) & 0xF;
+        return manhattanDistance(cells) + 2 * entry;
+    }
+
+    int manhattanDistance(int[] cells) {
+        int width = shape.width();
+        int distance = 0;
+        for (int i = 0; i < pattern.length; i++) {
+            distance += Math.abs(pattern[i] % width - cells[i] % width)
+                        + Math.abs(pattern[i] / width - cells[i] / width);
+        }
+
+        return distance;
+    }
+
+    /**
+     * Number of entries of a pattern database, it is the number of ways to place size tiles on cellCount cells
+     */
+    static int entryCount(int size, int cellCount) {
+        long count = 1;
+        for (int i = 0; i < size; i++) {
+            count *= cellCount - i;
+        }
+
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Pattern is too large.");
+        }
+
+        return (int) count;
+    }
+
+    /**
+     * Rank distinct cells as a number in a mixed radix, each digit is the cell index among the cells not used yet
+     */
+    static int rank(int[] cells, int size, int cellCount) {
+        int rank = 0;
+        for (int i = 0; i < size; i++) {
+            int digit = cells[i];
+            for (int j = 0; j < i; j++) {
+                if (cells[j] < cells[i]) {
+                    digit--;
+                }
+            }
+            rank = rank * (cellCount - i) + digit;
+        }
+
+        return rank;
+    }
+
+    /**
+     * Reverse of {@link #rank(int[], int, int)}
+     */
+    static void unrank(int rank, int[] cells, int size, int cellCount) {
+        for (int i = size - 1; i >= 0; i--) {
+            int radix = cellCount - i;
+            cells[i] = rank % radix;
+            rank /= radix;
+        }
+
+        // Turn digits back into cell indexes, each digit is the index among the cells not used yet
+        long usedCells = 0;
+        for (int i = 0; i < size; i++) {
+            int cell = 0;
+            for (int digit = cells[i]; digit > 0 || (usedCells & (1L << cell)) != 0; cell++) {
+                if ((usedCells & (1L << cell)) == 0) {
+                    digit--;
+                }
+            }
+            cells[i] = cell;
+            usedCells |= 1L << cell;
+        }
+    }
+
+    /**
+     * Write a pattern database, entries are the numbers of moves indexed by rank.
+     * Unreachable placements, marked by a negative number of moves, are written as the Manhattan distance
+     */
+    static void write(OutputStream outputStream, BoardShape shape, int[] pattern, byte[] distances) throws IOException {
+        var stream = new DataOutputStream(outputStream);
+        stream.writeInt(MAGIC);
+        stream.writeInt(shape.width());
+        stream.writeInt(shape.height());
+        stream.writeInt(shape.emptyTile());
+        stream.writeInt(pattern.length);
+        for (int tile : pattern) {
+            stream.writeInt(tile);
+        }
+
+        var cells = new int[pattern.length];
+        var packed = new byte[(distances.length + 1) / 2];
+        var database = new PatternDatabase(shape, pattern, null);
+        for (int i = 0; i < distances.length; i++) {
+            unrank(i, cells, pattern.length, shape.cellCount());
+            int entry = distances[i] < 0
+                    ? 0
+                    : Math.min((distances[i] - database.manhattanDistance(cells)) / 2, MAX_ENTRY);
+            packed[i >>> 1] |= (byte) (entry << ((i & 1) << 2));
+        }
+        stream.write(packed);
+        stream.flush();
+    }
+
+    /**
+     * Map a pattern database file into memory, the entries are not copied to the heap
+     */
+    static PatternDatabase map(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Invalid pattern database " + file);
+            }
+
+            var shape = new BoardShape(buffer.getInt(), buffer.getInt(), buffer.getInt());
+            var pattern = new int[buffer.getInt()];
+            for (int i = 0; i < pattern.length; i++) {
+                pattern[i] = buffer.getInt();
+            }
+
+            var entries = buffer.slice();
+            if (entries.capacity() != (entryCount(pattern.length, shape.cellCount()) + 1) / 2) {
+                throw new IOException("Truncated pattern database " + file);
+            }
+
+            return new PatternDatabase(shape, pattern, entries);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PatternDatabase" + Arrays.toString(pattern);
+    }
+}
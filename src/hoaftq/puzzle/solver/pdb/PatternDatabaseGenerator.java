@@ -0,0 +1,168 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver.pdb;
+
+import hoaftq.puzzle.game.EmptyTilePosition;
+import hoaftq.puzzle.solver.BoardShape;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generate pattern databases by a breadth first search backward from the finished board.
+ * <p>
+ * A search state is the cells of the pattern tiles plus the cell of the empty tile. Moving the empty tile
+ * to a cell not used by the pattern costs nothing, so all the empty cells reachable that way are handled
+ * together as a bit mask and only moves of the pattern tiles increase the search depth
+ */
+public class PatternDatabaseGenerator {
+
+    /**
+     * Generate and save the pattern databases of a board size
+     * <p>
+     * Usage: PatternDatabaseGenerator width height [empty tile position...]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: PatternDatabaseGenerator width height [TOP_LEFT|TOP_RIGHT|BOTTOM_RIGHT|BOTTOM_LEFT...]");
+            System.exit(1);
+        }
+
+        int width = Integer.parseInt(args[0]);
+        int height = Integer.parseInt(args[1]);
+        var positions = args.length > 2
+                ? Arrays.stream(args, 2, args.length).map(EmptyTilePosition::valueOf).toList()
+                : List.of(EmptyTilePosition.BOTTOM_RIGHT);
+
+        for (var position : positions) {
+            var shape = BoardShape.of(width, height, position);
+            long startTime = System.nanoTime();
+            PatternDatabases.generate(shape);
+            System.out.printf("Generated pattern databases for %dx%d %s in %.1f s%n",
+                    width, height, position, (System.nanoTime() - startTime) / 1e9);
+        }
+    }
+
+    /**
+     * Calculate the number of moves of a pattern for all the placements of its tiles
+     *
+     * @param shape   board shape, it must have no more than 32 cells
+     * @param pattern original cell indexes of the pattern tiles
+     * @return numbers of moves indexed by the ranks of the cells of the pattern tiles, negative if unreachable
+     */
+    static byte[] generate(BoardShape shape, int[] pattern) {
+        int cellCount = shape.cellCount();
+        int size = pattern.length;
+        int entryCount = PatternDatabase.entryCount(size, cellCount);
+
+        var neighborMasks = createNeighborMasks(shape);
+        int allCells = (int) ((1L << cellCount) - 1);
+
+        var distances = new byte[entryCount];
+        Arrays.fill(distances, (byte) -1);
+
+        // Masks of the empty cells visited, in the current depth and in the next depth for each placement
+        var visited = new int[entryCount];
+        var current = new int[entryCount];
+        var next = new int[entryCount];
+
+        var cells = new int[size];
+        current[PatternDatabase.rank(pattern, size, cellCount)] = 1 << shape.emptyTile();
+
+        for (int depth = 0; ; depth++) {
+            boolean hasStates = false;
+            for (int rank = 0; rank < entryCount; rank++) {
+                int emptyCells = current[rank] & ~visited[rank];
+                if (emptyCells == 0) {
+                    continue;
+                }
+
+                hasStates = true;
+                PatternDatabase.unrank(rank, cells, size, cellCount);
+                int patternCells = 0;
+                for (int cell : cells) {
+                    patternCells |= 1 << cell;
+                }
+
+                // Move the empty tile freely around the cells not used by the pattern
+                int reached = expand(emptyCells, allCells & ~patternCells, neighborMasks) & ~visited[rank];
+                visited[rank] |= reached;
+                if (distances[rank] < 0) {
+                    distances[rank] = (byte) depth;
+                }
+
+                // Move a pattern tile into the empty cell
+                for (int emptyCell = 0; emptyCell < cellCount; emptyCell++) {
+                    if ((reached & (1 << emptyCell)) == 0) {
+                        continue;
+                    }
+
+                    for (int i = 0; i < size; i++) {
+                        int tileCell = cells[i];
+                        if ((neighborMasks[emptyCell] & (1 << tileCell)) == 0) {
+                            continue;
+                        }
+
+                        cells[i] = emptyCell;
+                        int nextRank = PatternDatabase.rank(cells, size, cellCount);
+                        cells[i] = tileCell;
+
+                        next[nextRank] |= (1 << tileCell) & ~visited[nextRank];
+                    }
+                }
+            }
+
+            if (!hasStates) {
+                break;
+            }
+
+            var swapped = current;
+            current = next;
+            next = swapped;
+            Arrays.fill(next, 0);
+        }
+
+        // When the pattern has all the tiles, half of the placements have the wrong parity and can't be reached.
+        // They never appear in a solvable board, so they are left negative
+        boolean hasAllTiles = size == cellCount - 1;
+        for (byte distance : distances) {
+            if (distance < 0 && !hasAllTiles) {
+                throw new IllegalStateException("Some placements of the pattern are unreachable.");
+            }
+        }
+
+        return distances;
+    }
+
+    /**
+     * Extend a set of empty cells to all the free cells connected to them
+     */
+    private static int expand(int cells, int freeCells, int[] neighborMasks) {
+        int reached = cells;
+        int frontier = cells;
+        while (frontier != 0) {
+            int cell = Integer.numberOfTrailingZeros(frontier);
+            frontier &= frontier - 1;
+
+            int added = neighborMasks[cell] & freeCells & ~reached;
+            reached |= added;
+            frontier |= added;
+        }
+
+        return reached;
+    }
+
+    private static int[] createNeighborMasks(BoardShape shape) {
+        var neighbors = shape.createNeighborTable();
+        var masks = new int[shape.cellCount()];
+        for (int i = 0; i < neighbors.length; i++) {
+            if (neighbors[i] >= 0) {
+                masks[i / 4] |= 1 << neighbors[i];
+            }
+        }
+
+        return masks;
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver.pdb;
+
+import hoaftq.puzzle.solver.BoardShape;
+import hoaftq.puzzle.solver.Heuristic;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sum of the numbers of moves of disjoint patterns.
+ * The patterns don't share tiles and each one only counts the moves of its own tiles, so the sum is admissible
+ */
+public class PatternDatabaseHeuristic implements Heuristic {
+    private final PatternDatabase[] databases;
+    private final int emptyTile;
+
+    /**
+     * Index of the pattern database and index inside that pattern of each tile, -1 for the empty tile
+     */
+    private final int[] databaseOfTile;
+    private final int[] indexOfTile;
+
+    /**
+     * Current cells of the tiles of each pattern, kept in sync with the board by the updates and the undos
+     */
+    private final int[][] cells;
+
+    public PatternDatabaseHeuristic(BoardShape shape, List<PatternDatabase> databases) {
+        this.databases = databases.toArray(PatternDatabase[]::new);
+        this.emptyTile = shape.emptyTile();
+
+        databaseOfTile = new int[shape.cellCount()];
+        indexOfTile = new int[shape.cellCount()];
+        Arrays.fill(databaseOfTile, -1);
+
+        cells = new int[this.databases.length][];
+        for (int i = 0; i < this.databases.length; i++) {
+            var pattern = this.databases[i].getPattern();
+            cells[i] = new int[pattern.length];
+            for (int j = 0; j < pattern.length; j++) {
+                databaseOfTile[pattern[j]] = i;
+                indexOfTile[pattern[j]] = j;
+            }
+        }
+    }
+
+    @Override
+    public int estimate(int[] tiles) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] != emptyTile) {
+                cells[databaseOfTile[tiles[i]]][indexOfTile[tiles[i]]] = i;
+            }
+        }
+
+        int estimate = 0;
+        for (int i = 0; i < databases.length; i++) {
+            estimate += databases[i].distance(cells[i]);
+        }
+
+        return estimate;
+    }
+
+    @Override
+    public int update(int[] tiles, int estimate, int from, int to) {
+
+        // Only the pattern of the moved tile changes
+        int database = databaseOfTile[tiles[to]];
+        int before = databases[database].distance(cells[database]);
+        cells[database][indexOfTile[tiles[to]]] = to;
+        return estimate - before + databases[database].distance(cells[database]);
+    }
+
+    @Override
+    public void undo(int[] tiles, int from, int to) {
+        cells[databaseOfTile[tiles[from]]][indexOfTile[tiles[from]]] = from;
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver.pdb;
+
+import hoaftq.puzzle.solver.BoardShape;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pattern databases of all the supported board shapes, stored in the pdb directory and shared by all the solvers
+ */
+public final class PatternDatabases {
+
+    /**
+     * Largest board that pattern databases can be generated for in a reasonable time and memory
+     */
+    public static final int MAX_CELLS = 25;
+
+    private static final Path DIRECTORY = Path.of(System.getProperty("puzzle.pdb.dir", "pdb"));
+
+    private static final Map<BoardShape, CompletableFuture<List<PatternDatabase>>> databases = new ConcurrentHashMap<>();
+
+    private PatternDatabases() {
+    }
+
+    public static boolean isSupported(BoardShape shape) {
+        return shape.cellCount() <= MAX_CELLS;
+    }
+
+    /**
+     * Get the pattern databases of a board shape if they are ready.
+     * At first use, they are loaded or generated on a background thread and nothing is returned until it finishes
+     */
+    public static Optional<List<PatternDatabase>> get(BoardShape shape) {
+        if (!isSupported(shape)) {
+            return Optional.empty();
+        }
+
+        var future = databases.computeIfAbsent(shape, PatternDatabases::loadInBackground);
+        return future.isDone() && !future.isCompletedExceptionally()
+                ? Optional.of(future.join())
+                : Optional.empty();
+    }
+
+    /**
+     * Get the pattern databases of a board shape, waiting for them to be loaded or generated
+     */
+    public static List<PatternDatabase> await(BoardShape shape) {
+        if (!isSupported(shape)) {
+            throw new IllegalArgumentException("Pattern databases are not supported for " + shape);
+        }
+
+        return databases.computeIfAbsent(shape, PatternDatabases::loadInBackground).join();
+    }
+
+    /**
+     * Generate and save the pattern databases of a board shape, replacing existing files
+     */
+    public static void generate(BoardShape shape) throws IOException {
+        Files.createDirectories(DIRECTORY);
+
+        var partition = partition(shape);
+        for (int i = 0; i < partition.length; i++) {
+            var distances = PatternDatabaseGenerator.generate(shape, partition[i]);
+
+            // Write to a temporary file first, so that a process never maps a partially written file
+            var file = fileOf(shape, i);
+            var temporaryFile = Files.createTempFile(DIRECTORY, file.getFileName().toString(), ".tmp");
+            try (var stream = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+                PatternDatabase.write(stream, shape, partition[i], distances);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static CompletableFuture<List<PatternDatabase>> loadInBackground(BoardShape shape) {
+        var future = new CompletableFuture<List<PatternDatabase>>();
+        var thread = new Thread(() -> {
+            try {
+                future.complete(loadOrGenerate(shape));
+            } catch (Throwable e) {
+                e.printStackTrace();
+                future.completeExceptionally(e);
+            }
+        }, "pattern-database-" + shape.width() + "x" + shape.height());
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+
+        return future;
+    }
+
+    private static List<PatternDatabase> loadOrGenerate(BoardShape shape) throws IOException {
+        var partition = partition(shape);
+        for (int i = 0; i < partition.length; i++) {
+            if (!Files.exists(fileOf(shape, i))) {
+                generate(shape);
+                break;
+            }
+        }
+
+        var result = new ArrayList<PatternDatabase>();
+        for (int i = 0; i < partition.length; i++) {
+            result.add(PatternDatabase.map(fileOf(shape, i)));
+        }
+
+        return List.copyOf(result);
+    }
+
+    private static Path fileOf(BoardShape shape, int index) {
+        return DIRECTORY.resolve(shape.width() + "x" + shape.height()
+                                 + "-" + shape.emptyTilePosition()
+                                 + "-" + index + ".pdb");
+    }
+
+    /**
+     * Split the tiles into disjoint patterns.
+     * Patterns are defined for the empty tile at the top left corner and mirrored for the other corners
+     */
+    static int[][] partition(BoardShape shape) {
+        int width = shape.width();
+        int height = shape.height();
+
+        int[][] partition;
+        if (width == 4 && height == 4) {
+
+            // 6-6-3: the two halves of the 3 bottom rows and the rest of the top row
+            partition = new int[][]{{4, 5, 8, 9, 12, 13}, {6, 7, 10, 11, 14, 15}, {1, 2, 3}};
+        } else {
+
+            // Tiles in row major order, grouped into patterns small enough to be generated
+            int patternSize = shape.cellCount() <= 9 ? 8 : shape.cellCount() <= 16 ? 6 : 5;
+            int tileCount = shape.cellCount() - 1;
+            partition = new int[(tileCount + patternSize - 1) / patternSize][];
+            for (int i = 0; i < partition.length; i++) {
+                partition[i] = new int[Math.min(patternSize, tileCount - i * patternSize)];
+                for (int j = 0; j < partition[i].length; j++) {
+                    partition[i][j] = 1 + i * patternSize + j;
+                }
+            }
+        }
+
+        // Mirror the cells for the other corners
+        boolean mirrorX = shape.emptyTile() % width != 0;
+        boolean mirrorY = shape.emptyTile() / width != 0;
+        for (var pattern : partition) {
+            for (int i = 0; i < pattern.length; i++) {
+                int x = pattern[i] % width;
+                int y = pattern[i] / width;
+                pattern[i] = (mirrorX ? width - 1 - x : x) + (mirrorY ? height - 1 - y : y) * width;
+            }
+        }
+
+        return partition;
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver.wd;
+
+import hoaftq.puzzle.solver.BoardShape;
+import hoaftq.puzzle.solver.Heuristic;
+import hoaftq.puzzle.solver.ManhattanHeuristic;
+
+import java.util.Arrays;
+
+/**
+ * Sum of the walking distances of the rows and of the columns.
+ * A move is either vertical or horizontal, so it reduces only one of them by at most 1 and the sum is admissible.
+ * Manhattan distance with linear conflicts is larger on some boards, so the maximum of both is used
+ */
+public class WalkingDistanceHeuristic implements Heuristic {
+    private final int width;
+    private final int cellCount;
+    private final int emptyTile;
+    private final WalkingDistanceTable rowTable;
+    private final WalkingDistanceTable columnTable;
+    private final ManhattanHeuristic linearConflict;
+
+    /**
+     * Parts of the keys of the row and the column states for tile t at cell c at c * cellCount + t
+     */
+    private final long[] rowKeyParts;
+    private final long[] columnKeyParts;
+
+    /**
+     * State of the board last seen, a move only changes the key and the distance of the rows or of the columns
+     */
+    private long rowKey;
+    private long columnKey;
+    private int rowDistance;
+    private int columnDistance;
+    private int linearConflictEstimate;
+
+    /**
+     * Distance of the lines changed and linear conflict estimation before each update not undone yet, so that an
+     * undo doesn't look them up or count the conflicts again
+     */
+    private int[] history = new int[256];
+    private int historySize;
+
+    public WalkingDistanceHeuristic(BoardShape shape) {
+        width = shape.width();
+        cellCount = shape.cellCount();
+        emptyTile = shape.emptyTile();
+        rowTable = WalkingDistanceTables.rowTable(shape);
+        columnTable = WalkingDistanceTables.columnTable(shape);
+        linearConflict = new ManhattanHeuristic(shape, true);
+
+        rowKeyParts = new long[cellCount * cellCount];
+        columnKeyParts = new long[cellCount * cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            for (int tile = 0; tile < cellCount; tile++) {
+                int index = cell * cellCount + tile;
+                if (tile == shape.emptyTile()) {
+                    rowKeyParts[index] = cell / width;
+                    columnKeyParts[index] = cell % width;
+                } else {
+                    rowKeyParts[index] = rowTable.keyPart(cell / width, tile / width);
+                    columnKeyParts[index] = columnTable.keyPart(cell % width, tile % width);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int estimate(int[] tiles) {
+        rowKey = 0;
+        columnKey = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int index = i * cellCount + tiles[i];
+            rowKey += rowKeyParts[index];
+            columnKey += columnKeyParts[index];
+        }
+
+        rowDistance = rowTable.distance(rowKey);
+        columnDistance = columnTable.distance(columnKey);
+        linearConflictEstimate = linearConflict.estimate(tiles);
+        historySize = 0;
+        return Math.max(rowDistance + columnDistance, linearConflictEstimate);
+    }
+
+    /**
+     * A vertical move only changes the state of the rows and a horizontal move only the state of the columns
+     */
+    @Override
+    public int update(int[] tiles, int estimate, int from, int to) {
+        if (historySize + 2 > history.length) {
+            history = Arrays.copyOf(history, history.length * 2);
+        }
+        history[historySize++] = linearConflictEstimate;
+
+        if (from / width != to / width) {
+            history[historySize++] = rowDistance;
+            rowKey += keyChange(rowKeyParts, tiles[to], from, to);
+            rowDistance = rowTable.distance(rowKey);
+        } else {
+            history[historySize++] = columnDistance;
+            columnKey += keyChange(columnKeyParts, tiles[to], from, to);
+            columnDistance = columnTable.distance(columnKey);
+        }
+
+        linearConflictEstimate = linearConflict.update(tiles, linearConflictEstimate, from, to);
+        return Math.max(rowDistance + columnDistance, linearConflictEstimate);
+    }
+
+    @Override
+    public void undo(int[] tiles, int from, int to) {
+        if (from / width != to / width) {
+            rowKey -= keyChange(rowKeyParts, tiles[from], from, to);
+            rowDistance = history[--historySize];
+        } else {
+            columnKey -= keyChange(columnKeyParts, tiles[from], from, to);
+            columnDistance = history[--historySize];
+        }
+
+        linearConflictEstimate = history[--historySize];
+    }
+
+    /**
+     * Change of a key when a tile moves into the empty cell, the empty tile goes the other way
+     */
+    private long keyChange(long[] keyParts, int tile, int from, int to) {
+        return keyParts[to * cellCount + tile] - keyParts[from * cellCount + tile]
+               + keyParts[from * cellCount + emptyTile] - keyParts[to * cellCount + emptyTile];
+    }
+}
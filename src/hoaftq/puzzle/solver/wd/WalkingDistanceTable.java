@@ -0,0 +1,270 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver.wd;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Walking distances of the tiles along one axis of a board.
+ * <p>
+ * The board is seen as lines (the rows or the columns) and a state only records how many tiles of each line
+ * belong to each line, plus the line of the empty tile. A move exchanges the empty tile with any tile of a next
+ * line, so the number of moves from a state to the finished one is a lower bound of the moves along that axis.
+ * The distances of all the states are found by a breadth first search from the finished state
+ */
+public class WalkingDistanceTable {
+    private static final int MAGIC = 0x57445431;
+
+    /**
+     * Longest lines supported for each number of lines, they keep a table under about a million states
+     */
+    private static final int[] MAX_LINE_LENGTHS = {0, 0, Integer.MAX_VALUE, 32, 6, 3, 2};
+
+    private final int lineLength;
+    private final int lineCount;
+    private final int blankLine;
+
+    /**
+     * Open addressed map from keys of the states to their distances, keys are saved plus 1 so that 0 marks an empty slot
+     */
+    private long[] keys;
+    private byte[] distances;
+    private int size;
+
+    /**
+     * Create an empty table
+     *
+     * @param lineLength number of cells of a line
+     * @param lineCount  number of lines
+     * @param blankLine  line of the empty tile on the finished board
+     */
+    WalkingDistanceTable(int lineLength, int lineCount, int blankLine) {
+        this.lineLength = lineLength;
+        this.lineCount = lineCount;
+        this.blankLine = blankLine;
+        keys = new long[1024];
+        distances = new byte[1024];
+    }
+
+    /**
+     * Check if the table of a number of lines is small enough to be generated
+     */
+    static boolean isSupported(int lineLength, int lineCount) {
+        return lineCount < MAX_LINE_LENGTHS.length && lineLength <= MAX_LINE_LENGTHS[lineCount];
+    }
+
+    public int getLineLength() {
+        return lineLength;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getBlankLine() {
+        return blankLine;
+    }
+
+    /**
+     * Get number of states in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Encode a state into a key. The last count of each line is left out, it is known from the others
+     *
+     * @param counts    counts[i * lineCount + j] is the number of tiles in line i that belong to line j
+     * @param emptyLine line of the empty tile
+     */
+    public long encode(int[] counts, int emptyLine) {
+        long key = 0;
+        for (int i = 0; i < lineCount; i++) {
+            for (int j = 0; j < lineCount - 1; j++) {
+                key = key * (lineLength + 1) + counts[i * lineCount + j];
+            }
+        }
+
+        return key * lineCount + emptyLine;
+    }
+
+    /**
+     * Get how much a tile adds to the key of a state, so that a key can be calculated without counting the tiles.
+     * The key is the sum of the parts of all the tiles plus the line of the empty tile
+     *
+     * @param line     line of the tile
+     * @param tileLine line the tile belongs to
+     */
+    public long keyPart(int line, int tileLine) {
+        if (tileLine == lineCount - 1) {
+            return 0;
+        }
+
+        long part = lineCount;
+        for (int i = line * (lineCount - 1) + tileLine + 1; i < lineCount * (lineCount - 1); i++) {
+            part *= lineLength + 1;
+        }
+
+        return part;
+    }
+
+    /**
+     * Get the walking distance of a state
+     *
+     * @return number of moves, -1 if the state is not in the table
+     */
+    public int distance(long key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key + 1) {
+                return distances[slot];
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Generate the table with a breadth first search from the finished state
+     */
+    static WalkingDistanceTable generate(int lineLength, int lineCount, int blankLine) {
+        if (!isSupported(lineLength, lineCount)) {
+            throw new IllegalArgumentException("Walking distances are not supported for "
+                                               + lineCount + " lines of " + lineLength + " cells.");
+        }
+
+        var table = new WalkingDistanceTable(lineLength, lineCount, blankLine);
+        var counts = new int[lineCount * lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            counts[i * lineCount + i] = i == blankLine ? lineLength - 1 : lineLength;
+        }
+
+        long[] current = {table.encode(counts, blankLine)};
+        table.put(current[0], 0);
+        for (int distance = 1; current.length > 0; distance++) {
+            var next = new long[16];
+            int nextSize = 0;
+            for (long key : current) {
+                int emptyLine = table.decode(key, counts);
+                for (int line = emptyLine - 1; line <= emptyLine + 1; line += 2) {
+                    if (line < 0 || line >= lineCount) {
+                        continue;
+                    }
+
+                    // Move a tile of the next line, belonging to any line, into the line of the empty tile
+                    for (int j = 0; j < lineCount; j++) {
+                        if (counts[line * lineCount + j] == 0) {
+                            continue;
+                        }
+
+                        counts[line * lineCount + j]--;
+                        counts[emptyLine * lineCount + j]++;
+                        long nextKey = table.encode(counts, line);
+                        counts[line * lineCount + j]++;
+                        counts[emptyLine * lineCount + j]--;
+
+                        if (table.distance(nextKey) < 0) {
+                            table.put(nextKey, distance);
+                            if (nextSize == next.length) {
+                                next = Arrays.copyOf(next, nextSize * 2);
+                            }
+                            next[nextSize++] = nextKey;
+                        }
+                    }
+                }
+            }
+
+            current = Arrays.copyOf(next, nextSize);
+        }
+
+        return table;
+    }
+
+    /**
+     * Reverse of {@link #encode(int[], int)}
+     *
+     * @return line of the empty tile
+     */
+    private int decode(long key, int[] counts) {
+        int emptyLine = (int) (key % lineCount);
+        key /= lineCount;
+        for (int i = lineCount - 1; i >= 0; i--) {
+            int lastCount = i == emptyLine ? lineLength - 1 : lineLength;
+            for (int j = lineCount - 2; j >= 0; j--) {
+                counts[i * lineCount + j] = (int) (key % (lineLength + 1));
+                key /= lineLength + 1;
+                lastCount -= counts[i * lineCount + j];
+            }
+            counts[i * lineCount + lineCount - 1] = lastCount;
+        }
+
+        return emptyLine;
+    }
+
+    private void put(long key, int distance) {
+        if ((size + 1) * 2 > keys.length) {
+            var oldKeys = keys;
+            var oldDistances = distances;
+            keys = new long[oldKeys.length * 2];
+            distances = new byte[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i] - 1, oldDistances[i]);
+                }
+            }
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key + 1;
+        distances[slot] = (byte) distance;
+        size++;
+    }
+
+    private static int hash(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    void write(OutputStream outputStream) throws IOException {
+        var stream = new DataOutputStream(outputStream);
+        stream.writeInt(MAGIC);
+        stream.writeInt(lineLength);
+        stream.writeInt(lineCount);
+        stream.writeInt(blankLine);
+        stream.writeInt(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                stream.writeLong(keys[i] - 1);
+                stream.writeByte(distances[i]);
+            }
+        }
+        stream.flush();
+    }
+
+    static WalkingDistanceTable read(InputStream inputStream) throws IOException {
+        var stream = new DataInputStream(inputStream);
+        if (stream.readInt() != MAGIC) {
+            throw new IOException("Invalid walking distance table.");
+        }
+
+        var table = new WalkingDistanceTable(stream.readInt(), stream.readInt(), stream.readInt());
+        int size = stream.readInt();
+        for (int i = 0; i < size; i++) {
+            long key = stream.readLong();
+            table.put(key, stream.readByte());
+        }
+
+        return table;
+    }
+}
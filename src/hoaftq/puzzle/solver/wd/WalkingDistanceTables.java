@@ -0,0 +1,89 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.solver.wd;
+
+import hoaftq.puzzle.solver.BoardShape;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Walking distance tables shared by all the heuristics.
+ * A table is generated once and cached on disk in the working directory, next to Puzzle.properties
+ */
+public final class WalkingDistanceTables {
+    private static final Path DIRECTORY = Path.of(System.getProperty("puzzle.wd.dir", ""));
+
+    private static final Map<String, WalkingDistanceTable> tables = new ConcurrentHashMap<>();
+
+    private WalkingDistanceTables() {
+    }
+
+    /**
+     * Check if walking distances can be calculated for a board shape.
+     * The tables grow quickly with the number of lines, so they are supported for boards up to 4x4, 5x3 and 6x2
+     * either way
+     */
+    public static boolean isSupported(BoardShape shape) {
+        return WalkingDistanceTable.isSupported(shape.width(), shape.height())
+               && WalkingDistanceTable.isSupported(shape.height(), shape.width());
+    }
+
+    /**
+     * Get the table of the rows of a board shape, loading or generating it at first use
+     */
+    public static WalkingDistanceTable rowTable(BoardShape shape) {
+        return get(shape.width(), shape.height(), shape.emptyTile() / shape.width());
+    }
+
+    /**
+     * Get the table of the columns of a board shape, loading or generating it at first use
+     */
+    public static WalkingDistanceTable columnTable(BoardShape shape) {
+        return get(shape.height(), shape.width(), shape.emptyTile() % shape.width());
+    }
+
+    private static WalkingDistanceTable get(int lineLength, int lineCount, int blankLine) {
+        return tables.computeIfAbsent(lineLength + "x" + lineCount + "-" + blankLine, name -> {
+            try {
+                return loadOrGenerate(DIRECTORY.resolve("Puzzle-wd-" + name + ".dat"),
+                        lineLength, lineCount, blankLine);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static WalkingDistanceTable loadOrGenerate(Path file, int lineLength, int lineCount, int blankLine)
+            throws IOException {
+        if (Files.exists(file)) {
+            try (var stream = new BufferedInputStream(Files.newInputStream(file))) {
+                return WalkingDistanceTable.read(stream);
+            } catch (IOException e) {
+
+                // A broken cache file is generated again
+                e.printStackTrace();
+            }
+        }
+
+        var table = WalkingDistanceTable.generate(lineLength, lineCount, blankLine);
+
+        // Write to a temporary file first, so that a process never reads a partially written file
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        var temporaryFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (var stream = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+            table.write(stream);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return table;
+    }
+}
@@ -13,24 +13,73 @@ import java.io.IOException;
  */
 public class ImageTilesView extends TilesView {
     private final Image image;
+    private final int imageWidth;
+    private final int imageHeight;
+    private final TileSpriteCache spriteCache;
 
-    public ImageTilesView(byte row, byte column, int width, int height, PuzzleImage puzzleImage) throws IOException {
+    public ImageTilesView(int row, int column, int width, int height, PuzzleImage puzzleImage) throws IOException {
         super(row, column, width, height);
         image = puzzleImage.loadImage();
+        imageWidth = image.getWidth(null);
+        imageHeight = image.getHeight(null);
+        spriteCache = new TileSpriteCache(image, row, column, TileSpriteCache.DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Create a view of the image of another view, without loading it again
+     */
+    private ImageTilesView(ImageTilesView other, int width, int height) {
+        super(other.row, other.column, width, height);
+        image = other.image;
+        imageWidth = other.imageWidth;
+        imageHeight = other.imageHeight;
+        spriteCache = new TileSpriteCache(image, row, column, TileSpriteCache.DEFAULT_MAX_BYTES);
+    }
+
+    @Override
+    public TilesView createResized(int width, int height) {
+        return new ImageTilesView(this, width, height);
+    }
+
+    @Override
+    public void prepare(GraphicsConfiguration configuration) {
+        spriteCache.prepare(configuration, width / row - 2, height / column - 2);
+    }
+
+    @Override
+    public void setWidth(int width) {
+        if (width / row != this.width / row) {
+            spriteCache.invalidate();
+        }
+        super.setWidth(width);
+    }
+
+    @Override
+    public void setHeight(int height) {
+        if (height / column != this.height / column) {
+            spriteCache.invalidate();
+        }
+        super.setHeight(height);
     }
 
     @Override
-    public void drawOne(Graphics g, int left, int top, byte xOnGameBoard,
-                        byte yOnGameBoard, byte xOnImageNumbers, byte yOnImageNumbers) {
+    public void drawOne(Graphics g, int left, int top, int xOnGameBoard,
+                        int yOnGameBoard, int xOnImageNumbers, int yOnImageNumbers) {
         int widthPerRow = width / row;
         int heightPerColumn = height / column;
         int tileLeft = left + xOnGameBoard * widthPerRow;
         int tileRight = top + yOnGameBoard * heightPerColumn;
 
+        // Copy the tile already scaled to this size if possible
+        var sprite = spriteCache.get(g, xOnImageNumbers, yOnImageNumbers, widthPerRow - 2, heightPerColumn - 2);
+        if (sprite != null) {
+            g.drawImage(sprite, tileLeft + 1, tileRight + 1, null);
+            return;
+        }
 
         // Calculate position and size of the tile on the image
-        int tileImageWidth = image.getWidth(null) / row;
-        int tileImageHeight = image.getHeight(null) / column;
+        int tileImageWidth = imageWidth / row;
+        int tileImageHeight = imageHeight / column;
         int tileImageLeft = xOnImageNumbers * tileImageWidth;
         int tileImageTop = yOnImageNumbers * tileImageHeight;
 
@@ -56,8 +105,8 @@ public class ImageTilesView extends TilesView {
                 left + height,
                 0,
                 0,
-                image.getWidth(null),
-                image.getHeight(null),
+                imageWidth,
+                imageHeight,
                 null);
     }
 }
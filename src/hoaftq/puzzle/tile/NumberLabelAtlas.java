@@ -0,0 +1,171 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.tile;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+
+/**
+ * Values of the number tiles painted once into one opaque image, so that drawing a value is a plain copy instead of
+ * deriving a font and laying out text every time.
+ * <p>
+ * The image has a slot per tile, laid out like the finished board. A slot holds the part of the painted tile
+ * around its value, background and border included, so copying it over the background gives the same pixels as
+ * drawing the text. A value is painted with its offset on the tile the first time it is drawn. The atlas only holds
+ * one tile size: a different tile size, font or screen drops all the values. Nothing is cached when the atlas would
+ * take more memory than the limit, or when the screen is scaled, as a copy would blur the text
+ */
+class NumberLabelAtlas {
+
+    /**
+     * Default memory limit of the atlas, counted as 4 bytes per pixel
+     */
+    static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * Paints a whole tile with its top left corner at 0, 0
+     */
+    @FunctionalInterface
+    interface Painter {
+        void paint(Graphics g, int tile, int tileWidth, int tileHeight);
+    }
+
+    private final int row;
+    private final int column;
+    private final long maxBytes;
+    private final Painter painter;
+
+    private BufferedImage atlas;
+    private boolean[] painted;
+
+    /**
+     * Position of the slot of each value relative to the top left corner of its tile
+     */
+    private int[] offsetX;
+    private int offsetY;
+
+    private int tileWidth;
+    private int tileHeight;
+    private Font baseFont;
+    private GraphicsConfiguration graphicsConfiguration;
+
+    private Font font;
+    private FontRenderContext fontRenderContext;
+    private int slotWidth;
+    private int slotHeight;
+    private int padding;
+
+    NumberLabelAtlas(int row, int column, long maxBytes, Painter painter) {
+        this.row = row;
+        this.column = column;
+        this.maxBytes = maxBytes;
+        this.painter = painter;
+    }
+
+    /**
+     * Draw the value of a tile over its background
+     *
+     * @param tile     original cell index of the tile, its value is one more
+     * @param tileLeft left coordinate of the tile
+     * @param tileTop  top coordinate of the tile
+     * @return false if the values can't be cached, nothing is drawn then
+     */
+    boolean draw(Graphics g, int tile, int tileLeft, int tileTop, int tileWidth, int tileHeight) {
+        if (!(g instanceof Graphics2D graphics2D) || !prepare(graphics2D, tileWidth, tileHeight)) {
+            return false;
+        }
+
+        if (!painted[tile]) {
+            paint(tile);
+        }
+
+        // Only the part of the slot inside the tile is copied
+        int x1 = Math.max(offsetX[tile], 0);
+        int y1 = Math.max(offsetY, 0);
+        int x2 = Math.min(offsetX[tile] + slotWidth, tileWidth);
+        int y2 = Math.min(offsetY + slotHeight, tileHeight);
+        if (x1 < x2 && y1 < y2) {
+            int sourceLeft = tile % row * slotWidth - offsetX[tile];
+            int sourceTop = tile / row * slotHeight - offsetY;
+            g.drawImage(atlas, tileLeft + x1, tileTop + y1, tileLeft + x2, tileTop + y2,
+                    sourceLeft + x1, sourceTop + y1, sourceLeft + x2, sourceTop + y2, null);
+        }
+
+        return true;
+    }
+
+    /**
+     * Drop all the values, used when the tiles are going to be drawn at another size
+     */
+    void invalidate() {
+        atlas = null;
+        painted = null;
+    }
+
+    /**
+     * Create an empty atlas if the current one doesn't match the tile size, the font or the screen
+     *
+     * @return false if the values can't be cached
+     */
+    private boolean prepare(Graphics2D g, int tileWidth, int tileHeight) {
+        var configuration = g.getDeviceConfiguration();
+        if (atlas != null && tileWidth == this.tileWidth && tileHeight == this.tileHeight
+            && configuration == graphicsConfiguration && g.getFont().equals(baseFont)) {
+            return true;
+        }
+
+        invalidate();
+        if (configuration != null && !configuration.getDefaultTransform().isIdentity()) {
+            return false;
+        }
+
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        baseFont = g.getFont();
+        graphicsConfiguration = configuration;
+        font = NumberTilesView.deriveValueFont(baseFont, tileHeight);
+        fontRenderContext = g.getFontRenderContext();
+
+        // A slot fits the longest value made of the widest digit, with some room for glyphs drawn
+        // outside of their bounds
+        double digitWidth = 0;
+        for (char digit = '0'; digit <= '9'; digit++) {
+            digitWidth = Math.max(digitWidth, font.getStringBounds(String.valueOf(digit), fontRenderContext).getWidth());
+        }
+        var bounds = font.getStringBounds("0", fontRenderContext);
+        padding = (int) Math.ceil(font.getSize2D() / 8) + 1;
+        slotWidth = (int) Math.ceil(digitWidth * Integer.toString(row * column).length()) + 2 * padding;
+        slotHeight = (int) Math.ceil(bounds.getHeight()) + 2 * padding;
+        offsetY = (int) ((tileHeight - bounds.getHeight()) / 2 - bounds.getY()) - (int) Math.ceil(-bounds.getY())
+                  - padding;
+        if ((long) slotWidth * slotHeight * 4 * row * column > maxBytes) {
+            return false;
+        }
+
+        atlas = configuration != null
+                ? configuration.createCompatibleImage(slotWidth * row, slotHeight * column, Transparency.OPAQUE)
+                : new BufferedImage(slotWidth * row, slotHeight * column, BufferedImage.TYPE_INT_RGB);
+        painted = new boolean[row * column];
+        offsetX = new int[row * column];
+        return true;
+    }
+
+    /**
+     * Paint the part of a tile around its value into its slot, the value is centred the same way as the painter does
+     */
+    private void paint(int tile) {
+        var bounds = font.getStringBounds(Integer.toString(tile + 1), fontRenderContext);
+        offsetX[tile] = (int) ((tileWidth - bounds.getWidth()) / 2) - padding;
+
+        var graphics = atlas.createGraphics();
+        graphics.setFont(baseFont);
+        graphics.translate(tile % row * slotWidth - offsetX[tile], tile / row * slotHeight - offsetY);
+        graphics.clipRect(offsetX[tile], offsetY, slotWidth, slotHeight);
+        painter.paint(graphics, tile, tileWidth, tileHeight);
+        graphics.dispose();
+
+        painted[tile] = true;
+    }
+}
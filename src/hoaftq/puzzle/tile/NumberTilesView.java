@@ -10,18 +10,56 @@ import java.awt.*;
  */
 public class NumberTilesView extends TilesView {
 
-    public NumberTilesView(byte row, byte column, int width, int height) {
+    /**
+     * Values are not drawn on tiles smaller than this, they would not be readable anyway
+     */
+    private static final int MIN_TILE_SIZE_WITH_VALUE = 8;
+
+    private static final float MAX_FONT_SIZE = 50f;
+
+    private final NumberLabelAtlas labelAtlas;
+
+    public NumberTilesView(int row, int column, int width, int height) {
         super(row, column, width, height);
+        labelAtlas = new NumberLabelAtlas(row, column, NumberLabelAtlas.DEFAULT_MAX_BYTES, this::paintTile);
+    }
+
+    @Override
+    public TilesView createResized(int width, int height) {
+        return new NumberTilesView(row, column, width, height);
+    }
+
+    @Override
+    public void setWidth(int width) {
+        if (width / row != this.width / row) {
+            labelAtlas.invalidate();
+        }
+        super.setWidth(width);
+    }
+
+    @Override
+    public void setHeight(int height) {
+        if (height / column != this.height / column) {
+            labelAtlas.invalidate();
+        }
+        super.setHeight(height);
+    }
+
+    /**
+     * Font of the values on tiles of a height
+     */
+    static Font deriveValueFont(Font font, int heightPerTile) {
+        return font.deriveFont(Math.min(MAX_FONT_SIZE, heightPerTile * 0.6f));
     }
 
     @Override
     public void drawOne(Graphics g,
                         int left,
                         int top,
-                        byte xOnGameBoard,
-                        byte yOnGameBoard,
-                        byte xOnImageNumbers,
-                        byte yOnImageNumbers) {
+                        int xOnGameBoard,
+                        int yOnGameBoard,
+                        int xOnImageNumbers,
+                        int yOnImageNumbers) {
         int withPerTile = width / row;
         int heightPerTile = height / column;
         int tileLeft = left + xOnGameBoard * withPerTile;
@@ -31,8 +69,24 @@ public class NumberTilesView extends TilesView {
 
         drawBorder(g, tileLeft, tileTop, withPerTile, heightPerTile);
 
-        var tileValue = getTileValue(xOnImageNumbers, yOnImageNumbers);
-        drawTileValue(g, tileValue, tileLeft, tileTop, withPerTile, heightPerTile);
+        if (withPerTile < MIN_TILE_SIZE_WITH_VALUE || heightPerTile < MIN_TILE_SIZE_WITH_VALUE) {
+            return;
+        }
+
+        int tile = yOnImageNumbers * row + xOnImageNumbers;
+        if (!labelAtlas.draw(g, tile, tileLeft, tileTop, withPerTile, heightPerTile)) {
+            var tileValue = getTileValue(xOnImageNumbers, yOnImageNumbers);
+            drawTileValue(g, tileValue, tileLeft, tileTop, withPerTile, heightPerTile);
+        }
+    }
+
+    /**
+     * Paint a whole tile with its top left corner at 0, 0, the label atlas keeps the part around the value
+     */
+    private void paintTile(Graphics g, int tile, int withPerTile, int heightPerTile) {
+        fillBackground(g, 0, 0, withPerTile, heightPerTile);
+        drawBorder(g, 0, 0, withPerTile, heightPerTile);
+        drawTileValue(g, getTileValue(tile % row, tile / row), 0, 0, withPerTile, heightPerTile);
     }
 
 
@@ -40,8 +94,8 @@ public class NumberTilesView extends TilesView {
     public void drawAll(Graphics g, int left, int top) {
 
         // Draw all the tiles in their original positions
-        for (byte i = 0; i < row; i++) {
-            for (byte j = 0; j < column; j++) {
+        for (int i = 0; i < row; i++) {
+            for (int j = 0; j < column; j++) {
                 drawOne(g, left, top, i, j, i, j);
             }
         }
@@ -60,7 +114,7 @@ public class NumberTilesView extends TilesView {
     /**
      * Calculate the value that will be displayed on the tile
      */
-    private String getTileValue(byte xOnImageNumbers, byte yOnImageNumbers) {
+    private String getTileValue(int xOnImageNumbers, int yOnImageNumbers) {
         int value = (yOnImageNumbers * row) + xOnImageNumbers + 1;
         return Integer.toString(value);
     }
@@ -71,16 +125,19 @@ public class NumberTilesView extends TilesView {
                                       int tileTop,
                                       int withPerTile,
                                       int heightPerTile) {
-        var font = g.getFont().deriveFont(50f);
+        var oldFont = g.getFont();
+        var oldClip = g.getClip();
+        var font = deriveValueFont(oldFont, heightPerTile);
         g.setFont(font);
 
         var bound = font.getStringBounds(value, ((Graphics2D) g).getFontRenderContext());
-        g.setClip(tileLeft, tileTop, withPerTile, heightPerTile);
+        g.clipRect(tileLeft, tileTop, withPerTile, heightPerTile);
         g.setColor(Color.RED);
         g.drawString(
                 value,
                 tileLeft + (int) ((withPerTile - bound.getWidth()) / 2),
                 tileTop + (int) ((heightPerTile - bound.getHeight()) / 2 - bound.getY()));
-        g.setClip(null);
+        g.setClip(oldClip);
+        g.setFont(oldFont);
     }
 }
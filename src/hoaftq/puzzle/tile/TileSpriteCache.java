@@ -0,0 +1,121 @@
+/**
+ * Puzzle game using Java AWT
+ */
+package hoaftq.puzzle.tile;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tiles of an image already scaled to the size they are drawn at, so that drawing a tile is a plain copy.
+ * <p>
+ * A tile is sliced and scaled the first time it is drawn at a size, and the images are created compatible with
+ * the screen. The cache only holds one size: a different tile size or screen drops all the tiles. When the tiles of
+ * a size would take more memory than the limit, nothing is cached and the tiles are scaled on each draw
+ */
+class TileSpriteCache {
+
+    /**
+     * Default memory limit of the cached tiles, counted as 4 bytes per pixel
+     */
+    static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final Image image;
+    private final int imageWidth;
+    private final int imageHeight;
+    private final boolean hasAlpha;
+    private final int row;
+    private final int column;
+    private final long maxBytes;
+
+    private Image[] sprites;
+    private int spriteWidth;
+    private int spriteHeight;
+    private GraphicsConfiguration graphicsConfiguration;
+
+    TileSpriteCache(Image image, int row, int column, long maxBytes) {
+        this.image = image;
+        this.imageWidth = image.getWidth(null);
+        this.imageHeight = image.getHeight(null);
+        this.hasAlpha = !(image instanceof BufferedImage bufferedImage) || bufferedImage.getColorModel().hasAlpha();
+        this.row = row;
+        this.column = column;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get a tile of the image scaled to a size
+     *
+     * @param x      horizontal index of the tile on the image
+     * @param y      vertical index of the tile on the image
+     * @param width  width of the scaled tile
+     * @param height height of the scaled tile
+     * @return the scaled tile, null if the tiles of this size are too large to be cached
+     */
+    Image get(Graphics g, int x, int y, int width, int height) {
+        var configuration = g instanceof Graphics2D graphics2D ? graphics2D.getDeviceConfiguration() : null;
+        return get(configuration, x, y, width, height);
+    }
+
+    /**
+     * Scale all the tiles to a size for a screen ahead of drawing them, on any thread
+     * as long as the cache is not used by another one meanwhile
+     */
+    void prepare(GraphicsConfiguration configuration, int width, int height) {
+        for (int y = 0; y < column; y++) {
+            for (int x = 0; x < row; x++) {
+                if (get(configuration, x, y, width, height) == null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Image get(GraphicsConfiguration configuration, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0 || (long) width * height * 4 * row * column > maxBytes) {
+            invalidate();
+            return null;
+        }
+
+        if (sprites == null || width != spriteWidth || height != spriteHeight
+            || configuration != graphicsConfiguration) {
+            sprites = new Image[row * column];
+            spriteWidth = width;
+            spriteHeight = height;
+            graphicsConfiguration = configuration;
+        }
+
+        int index = x + y * row;
+        if (sprites[index] == null) {
+            sprites[index] = createSprite(x, y);
+        }
+
+        return sprites[index];
+    }
+
+    /**
+     * Drop all the cached tiles, used when the tiles are going to be drawn at another size
+     */
+    void invalidate() {
+        sprites = null;
+    }
+
+    private Image createSprite(int x, int y) {
+        BufferedImage sprite = graphicsConfiguration != null
+                ? graphicsConfiguration.createCompatibleImage(spriteWidth, spriteHeight,
+                hasAlpha ? Transparency.TRANSLUCENT : Transparency.OPAQUE)
+                : new BufferedImage(spriteWidth, spriteHeight,
+                hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+        // Scaling is done only once per tile, so it can afford a better interpolation than drawing every time
+        int tileImageWidth = imageWidth / row;
+        int tileImageHeight = imageHeight / column;
+        var graphics = sprite.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, spriteWidth, spriteHeight,
+                x * tileImageWidth, y * tileImageHeight, (x + 1) * tileImageWidth, (y + 1) * tileImageHeight, null);
+        graphics.dispose();
+
+        return sprite;
+    }
+}
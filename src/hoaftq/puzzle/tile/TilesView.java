@@ -9,9 +9,9 @@ import java.awt.*;
  * Representing the whole image or all the number displaying on the game board
  */
 public abstract class TilesView {
-    protected byte row;
+    protected int row;
 
-    protected byte column;
+    protected int column;
 
     /**
      * Width of game board
@@ -23,18 +23,18 @@ public abstract class TilesView {
      */
     protected int height;
 
-    protected TilesView(byte row, byte column, int width, int height) {
+    protected TilesView(int row, int column, int width, int height) {
         this.row = row;
         this.column = column;
         this.width = width;
         this.height = height;
     }
 
-    public byte getRow() {
+    public int getRow() {
         return row;
     }
 
-    public byte getColumn() {
+    public int getColumn() {
         return column;
     }
 
@@ -50,10 +50,36 @@ public abstract class TilesView {
         return height;
     }
 
+    /**
+     * Width of a tile on the game board
+     */
+    public int getTileWidth() {
+        return width / row;
+    }
+
+    /**
+     * Height of a tile on the game board
+     */
+    public int getTileHeight() {
+        return height / column;
+    }
+
     public void setHeight(int height) {
         this.height = height;
     }
 
+    /**
+     * Create a view of the same tiles drawn at another size, it doesn't share its caches with this one
+     */
+    public abstract TilesView createResized(int width, int height);
+
+    /**
+     * Build what is cached to draw the tiles at the current size, so that the first paint doesn't have to.
+     * It can be called on any thread before the view is used for painting
+     */
+    public void prepare(GraphicsConfiguration configuration) {
+    }
+
     /**
      * Draw one tile on the game board
      *
@@ -68,10 +94,10 @@ public abstract class TilesView {
     public abstract void drawOne(Graphics g,
                                  int left,
                                  int top,
-                                 byte xOnGameBoard,
-                                 byte yOnGameBoard,
-                                 byte xOnImageNumbers,
-                                 byte yOnImageNumbers);
+                                 int xOnGameBoard,
+                                 int yOnGameBoard,
+                                 int xOnImageNumbers,
+                                 int yOnImageNumbers);
 
 
     /**